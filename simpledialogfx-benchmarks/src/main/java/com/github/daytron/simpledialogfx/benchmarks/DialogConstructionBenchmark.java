@@ -0,0 +1,97 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.benchmarks;
+
+import com.github.daytron.simpledialogfx.data.DialogStyle;
+import com.github.daytron.simpledialogfx.data.HeaderColorStyle;
+import com.github.daytron.simpledialogfx.dialog.Dialog;
+import com.github.daytron.simpledialogfx.dialog.DialogType;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building a dialog, from loading its layout to applying its
+ * content, for every <code>DialogType</code> and <code>DialogStyle</code>.
+ * Run with <code>-jvmArgsAppend -Dsimpledialogfx.compiledLayouts=false</code>
+ * to measure the <code>FXMLLoader</code> path instead of the compiled
+ * layouts.
+ *
+ * @author Ryan Gilera
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DialogConstructionBenchmark {
+
+    private static final int BATCH = 20;
+
+    @Param({"CONFIRMATION", "CONFIRMATION_ALT1", "CONFIRMATION_ALT2",
+        "INFORMATION", "WARNING", "ERROR", "EXCEPTION", "INPUT_TEXT",
+        "GENERIC_OK", "GENERIC_OK_CANCEL", "GENERIC_YES_NO",
+        "GENERIC_YES_NO_CANCEL"})
+    public DialogType dialogType;
+
+    @Param({"NATIVE", "UNDECORATED", "HEADLESS"})
+    public DialogStyle dialogStyle;
+
+    private Exception exception;
+
+    @Setup
+    public void setUp() {
+        FxPlatform.start();
+        this.exception = new IllegalStateException("Benchmark");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Dialog construct() {
+        return FxPlatform.call(new Callable<Dialog>() {
+            @Override
+            public Dialog call() {
+                Dialog dialog = null;
+                for (int i = 0; i < BATCH; i++) {
+                    dialog = new Dialog(dialogType, dialogStyle, "Title",
+                            "Header", HeaderColorStyle.DEFAULT, "Details",
+                            exception);
+                }
+                return dialog;
+            }
+        });
+    }
+}
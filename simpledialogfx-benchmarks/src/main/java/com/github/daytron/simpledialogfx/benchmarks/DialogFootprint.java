@@ -0,0 +1,312 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.benchmarks;
+
+import com.github.daytron.simpledialogfx.data.DialogStyle;
+import com.github.daytron.simpledialogfx.data.HeaderColorStyle;
+import com.github.daytron.simpledialogfx.dialog.Dialog;
+import com.github.daytron.simpledialogfx.dialog.DialogType;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import org.openjdk.jol.vm.VM;
+
+/**
+ * Reports the heap footprint of a dialog of every <code>DialogType</code>
+ * and <code>DialogStyle</code>, and fails when it grows beyond the committed
+ * baseline.
+ * <p>
+ * Each dialog is built with its CSS applied, so the skins and the styling
+ * state are part of the measure. Two sizes are reported from the objects
+ * strongly reachable from the dialog, sized by JOL:
+ * <ul>
+ * <li><b>deep</b>: everything reachable from the dialog, including the
+ * stylesheets, fonts and skin resources shared with every other
+ * dialog</li>
+ * <li><b>own</b>: what one more dialog of the same kind adds to the heap,
+ * that is the size of the graph of two dialogs minus the size of the graph
+ * of one. This is the retained cost used for capacity planning.</li>
+ * </ul>
+ * INLINE dialogs are measured mounted in a scene shared by both dialogs, the
+ * way they are shown in their owner's scene.
+ * <p>
+ * The own size of each kind is compared with the baseline of the current
+ * runtime, <code>footprint-baseline-&lt;runtime&gt;.properties</code>, for
+ * example <code>footprint-baseline-java8-javafx8.properties</code>. The
+ * check exits with status 1
+ * when a dialog grows by more than the tolerance (5% by default, set with
+ * <code>-Dsimpledialogfx.footprint.tolerance=0.1</code>) or when a kind is
+ * missing from the baseline, such as a new dialog type or style.
+ * <p>
+ * Sizes depend on the JVM, its object layout and the JavaFX version, so each
+ * runtime has a baseline of its own, named after the Java and JavaFX major
+ * versions. When the current runtime has none, the sizes measured now are
+ * written to <code>target/</code> under the name of its baseline and the
+ * check fails, so that file can be reviewed and committed to
+ * <code>src/main/resources</code>. Record a baseline explicitly with
+ * <code>-Dsimpledialogfx.footprint.record=&lt;file&gt;</code>.
+ * <p>
+ * Run with <code>mvn verify -Pfootprint</code>, or with
+ * <code>java -cp target/benchmarks.jar com.github.daytron.simpledialogfx.benchmarks.DialogFootprint</code>,
+ * adding <code>-Djol.magicFieldOffset=true</code> on Java 15 and later.
+ *
+ * @author Ryan Gilera
+ */
+public final class DialogFootprint {
+
+    private static final String BASELINE = "footprint-baseline-%s.properties";
+    private static final String UNRECORDED_BASELINES = "target/";
+    private static final double DEFAULT_TOLERANCE = 0.05;
+
+    private DialogFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int status = 2;
+        try {
+            status = check();
+        } catch (IOException | RuntimeException ex) {
+            ex.printStackTrace();
+        }
+        System.exit(status);
+    }
+
+    private static int check() throws IOException {
+        double tolerance = Double.parseDouble(System.getProperty(
+                "simpledialogfx.footprint.tolerance",
+                String.valueOf(DEFAULT_TOLERANCE)));
+        String record = System.getProperty("simpledialogfx.footprint.record");
+
+        FxPlatform.start();
+        System.out.println(VM.current().details());
+
+        Map<String, Footprint> footprints = new TreeMap<>();
+        for (DialogType dialogType : DialogType.values()) {
+            for (DialogStyle dialogStyle : DialogStyle.values()) {
+                footprints.put(dialogType + "." + dialogStyle,
+                        measure(dialogType, dialogStyle));
+            }
+        }
+
+        if (record != null) {
+            store(footprints, record);
+            print(footprints, null, tolerance);
+            System.out.println("Baseline recorded to " + record);
+            return 0;
+        }
+
+        String name = String.format(BASELINE, runtime());
+        Properties baseline = loadBaseline(name);
+        if (baseline == null) {
+            String unrecorded = UNRECORDED_BASELINES + name;
+            store(footprints, unrecorded);
+            print(footprints, null, tolerance);
+            System.out.println("FAILED: no baseline has been recorded on "
+                    + "this runtime. The sizes measured now were recorded to "
+                    + unrecorded + "; review them and commit them to "
+                    + "src/main/resources.");
+            return 1;
+        }
+
+        int failures = print(footprints, baseline, tolerance);
+        if (failures > 0) {
+            System.out.println("FAILED: " + failures
+                    + " dialog footprints grew beyond or are missing from "
+                    + "the baseline");
+            return 1;
+        }
+        System.out.println("OK");
+        return 0;
+    }
+
+    private static Footprint measure(final DialogType dialogType,
+            final DialogStyle dialogStyle) {
+        return FxPlatform.call(new Callable<Footprint>() {
+            @Override
+            public Footprint call() {
+                // INLINE dialogs share the scene they are mounted in
+                Scene host = dialogStyle == DialogStyle.INLINE
+                        ? new Scene(new StackPane(), 640, 480) : null;
+
+                Dialog first = build(dialogType, dialogStyle, host);
+                StrongGraph one = StrongGraph.walk(first);
+
+                Dialog second = build(dialogType, dialogStyle, host);
+                StrongGraph two = StrongGraph.walk(first, second);
+                return new Footprint(one.size(), one.count(),
+                        two.size() - one.size(), two.count() - one.count());
+            }
+        });
+    }
+
+    private static Dialog build(DialogType dialogType, DialogStyle dialogStyle,
+            Scene host) {
+        Dialog dialog = new Dialog(dialogType, dialogStyle, "Title",
+                "Header", HeaderColorStyle.GLOSS_INFO, "Details",
+                new IllegalStateException("Footprint"));
+        if (host != null) {
+            dialog.showInline(host);
+            host.getRoot().applyCss();
+        } else if (dialog.getScene() != null) {
+            dialog.getScene().getRoot().applyCss();
+        }
+        return dialog;
+    }
+
+    /**
+     * Prints the footprints and compares them with a baseline, or only
+     * prints them when the baseline is null. Returns the number of kinds
+     * that grew beyond the tolerance or are missing from the baseline.
+     */
+    private static int print(Map<String, Footprint> footprints,
+            Properties baseline, double tolerance) {
+        int failures = 0;
+
+        System.out.printf("%-40s %10s %8s %10s %8s %10s %8s%n", "Dialog",
+                "Deep (B)", "Objects", "Own (B)", "Objects", "Baseline",
+                "Change");
+        for (Map.Entry<String, Footprint> entry : footprints.entrySet()) {
+            Footprint footprint = entry.getValue();
+            String expected = baseline == null ? null
+                    : baseline.getProperty(entry.getKey());
+
+            // Every kind must have a baseline, so new types and styles are
+            // recorded along with them
+            String change;
+            if (baseline == null) {
+                change = "";
+            } else if (expected == null) {
+                change = "missing !";
+                failures++;
+            } else {
+                long limit = Long.parseLong(expected.trim());
+                double growth = limit == 0 ? 0
+                        : (double) (footprint.own - limit) / limit;
+                change = String.format("%+.1f%%", growth * 100);
+                if (growth > tolerance) {
+                    change += " !";
+                    failures++;
+                }
+            }
+
+            System.out.printf("%-40s %10d %8d %10d %8d %10s %8s%n",
+                    entry.getKey(), footprint.deep, footprint.deepCount,
+                    footprint.own, footprint.ownCount,
+                    expected == null ? "-" : expected.trim(), change);
+        }
+        return failures;
+    }
+
+    private static void store(Map<String, Footprint> footprints, String path)
+            throws IOException {
+        Properties recorded = new Properties();
+        for (Map.Entry<String, Footprint> entry : footprints.entrySet()) {
+            recorded.setProperty(entry.getKey(),
+                    String.valueOf(entry.getValue().own));
+        }
+
+        File file = new File(path);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            recorded.store(out, "Own heap footprint of a dialog, in bytes, "
+                    + "recorded on " + System.getProperty("java.vm.name")
+                    + " " + System.getProperty("java.version")
+                    + " with JavaFX " + javaFxVersion());
+        }
+    }
+
+    /**
+     * Names the runtime the sizes depend on after the Java and JavaFX major
+     * versions, for example <code>java8-javafx8</code>.
+     */
+    private static String runtime() {
+        String java = System.getProperty("java.specification.version");
+        if (java.startsWith("1.")) {
+            java = java.substring(2);
+        }
+        return "java" + java + "-javafx" + major(javaFxVersion());
+    }
+
+    private static String major(String version) {
+        int end = 0;
+        while (end < version.length()
+                && Character.isDigit(version.charAt(end))) {
+            end++;
+        }
+        return version.substring(0, end);
+    }
+
+    private static String javaFxVersion() {
+        return System.getProperty("javafx.runtime.version",
+                System.getProperty("javafx.version", ""));
+    }
+
+    /**
+     * Loads the baseline of the current runtime, or the one named by
+     * <code>simpledialogfx.footprint.baseline</code>. Returns null when there
+     * is none.
+     */
+    private static Properties loadBaseline(String name) throws IOException {
+        String path = System.getProperty("simpledialogfx.footprint.baseline");
+        try (InputStream in = path != null
+                ? new FileInputStream(path)
+                : DialogFootprint.class.getResourceAsStream("/" + name)) {
+            if (in == null) {
+                return null;
+            }
+            Properties baseline = new Properties();
+            baseline.load(in);
+            return baseline;
+        }
+    }
+
+    /**
+     * The measured sizes of one kind of dialog.
+     */
+    private static final class Footprint {
+
+        private final long deep;
+        private final long deepCount;
+        private final long own;
+        private final long ownCount;
+
+        Footprint(long deep, long deepCount, long own, long ownCount) {
+            this.deep = deep;
+            this.deepCount = deepCount;
+            this.own = own;
+            this.ownCount = ownCount;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.benchmarks;
+
+import com.github.daytron.simpledialogfx.dialog.Dialog;
+import com.github.daytron.simpledialogfx.dialog.DialogType;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Parent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the font setters of <code>Dialog</code>, each followed by the CSS
+ * pass and layout that apply the new font.
+ *
+ * @author Ryan Gilera
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FontBenchmark {
+
+    private static final int BATCH = 20;
+    private static final String[] FAMILIES = {"System", "Serif", "Monospaced"};
+
+    private Dialog dialog;
+    private Parent root;
+
+    @Setup
+    public void setUp() {
+        FxPlatform.start();
+        this.dialog = FxPlatform.call(new Callable<Dialog>() {
+            @Override
+            public Dialog call() {
+                return new Dialog(DialogType.INFORMATION, "Header", "Details");
+            }
+        });
+        this.root = this.dialog.getScene().getRoot();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void setFontSize() {
+        FxPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < BATCH; i++) {
+                    dialog.setFontSize(12 + i % 10, 10 + i % 10);
+                    refresh();
+                }
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void setFontFamily() {
+        FxPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < BATCH; i++) {
+                    dialog.setFontFamily(FAMILIES[i % FAMILIES.length]);
+                    refresh();
+                }
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void setFont() {
+        FxPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < BATCH; i++) {
+                    dialog.setFont(FAMILIES[i % FAMILIES.length], 12 + i % 10);
+                    refresh();
+                }
+            }
+        });
+    }
+
+    private void refresh() {
+        this.root.applyCss();
+        this.root.layout();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import javafx.application.Platform;
+
+/**
+ * Starts a headless JavaFX platform for the benchmarks and runs work on its
+ * FX Application Thread.
+ * <p>
+ * The Monocle headless glass platform and the software renderer are selected
+ * unless the corresponding system properties are already set, so the
+ * benchmarks run without a display.
+ *
+ * @author Ryan Gilera
+ */
+public final class FxPlatform {
+
+    private static boolean started;
+
+    private FxPlatform() {
+    }
+
+    /**
+     * Starts the JavaFX platform once per JVM.
+     */
+    public static synchronized void start() {
+        if (started) {
+            return;
+        }
+
+        setDefault("glass.platform", "Monocle");
+        setDefault("monocle.platform", "Headless");
+        setDefault("prism.order", "sw");
+        setDefault("prism.text", "t2k");
+        setDefault("java.awt.headless", "true");
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        Runnable onStarted = new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        };
+
+        try {
+            startup(onStarted);
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting JavaFX", ex);
+        }
+
+        Platform.setImplicitExit(false);
+        started = true;
+    }
+
+    /**
+     * Runs a task on the FX Application Thread and waits for its result.
+     *
+     * @param <T> The result type
+     * @param task The task to run
+     * @return The result of the task
+     */
+    public static <T> T call(Callable<T> task) {
+        if (Platform.isFxApplicationThread()) {
+            try {
+                return task.call();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        FutureTask<T> future = new FutureTask<>(task);
+        Platform.runLater(future);
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Runs a task on the FX Application Thread and waits for it to finish.
+     *
+     * @param task The task to run
+     */
+    public static void run(final Runnable task) {
+        call(new Callable<Void>() {
+            @Override
+            public Void call() {
+                task.run();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Waits until every runnable posted to the FX Application Thread so far
+     * has run.
+     */
+    public static void drain() {
+        run(new Runnable() {
+            @Override
+            public void run() {
+                // Runs after everything queued before it
+            }
+        });
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    /**
+     * Starts the toolkit through <code>Platform.startup</code> where it
+     * exists (JavaFX 9 and later) and through the JavaFX 8 implementation
+     * class otherwise.
+     */
+    private static void startup(Runnable onStarted) {
+        try {
+            Method startup;
+            try {
+                startup = Platform.class.getMethod("startup", Runnable.class);
+            } catch (NoSuchMethodException ex) {
+                startup = Class.forName("com.sun.javafx.application.PlatformImpl")
+                        .getMethod("startup", Runnable.class);
+            }
+            startup.invoke(null, onStarted);
+        } catch (ClassNotFoundException | NoSuchMethodException
+                | IllegalAccessException ex) {
+            throw new IllegalStateException("Unable to start JavaFX", ex);
+        } catch (InvocationTargetException ex) {
+            throw new IllegalStateException("Unable to start JavaFX",
+                    ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.benchmarks;
+
+import com.github.daytron.simpledialogfx.data.HeaderColorStyle;
+import com.github.daytron.simpledialogfx.dialog.Dialog;
+import com.github.daytron.simpledialogfx.dialog.DialogType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.control.Label;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares ways of switching the header color of a dialog, each followed by
+ * the CSS pass that makes it take effect. Every invocation cycles through
+ * all predefined <code>HeaderColorStyle</code> colors.
+ * <ul>
+ * <li><code>inlineCss</code> sets the color as an inline style, which the
+ * CSS engine has to parse and resolve</li>
+ * <li><code>directPaint</code> sets the cached <code>Background</code> of
+ * the color on the header label</li>
+ * <li><code>setHeaderColorStyle</code> goes through the public
+ * <code>Dialog</code> method</li>
+ * </ul>
+ *
+ * @author Ryan Gilera
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HeaderColorBenchmark {
+
+    private static final HeaderColorStyle[] STYLES = predefinedStyles();
+    // Must match the length of STYLES
+    private static final int COLORS = 72;
+
+    private Dialog dialog;
+    private Label header;
+
+    @Setup
+    public void setUp() {
+        if (STYLES.length != COLORS) {
+            throw new IllegalStateException("Expected " + COLORS
+                    + " predefined colors, found " + STYLES.length);
+        }
+
+        FxPlatform.start();
+        this.dialog = FxPlatform.call(new Callable<Dialog>() {
+            @Override
+            public Dialog call() {
+                return new Dialog(DialogType.INFORMATION, "Header", "Details");
+            }
+        });
+        this.header = this.dialog.getHeaderLabel();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COLORS)
+    public void inlineCss() {
+        FxPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                for (HeaderColorStyle style : STYLES) {
+                    header.setStyle(style.getColorStyle());
+                    header.applyCss();
+                }
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COLORS)
+    public void directPaint() {
+        FxPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                for (HeaderColorStyle style : STYLES) {
+                    header.setBackground(style.getBackground());
+                    header.applyCss();
+                }
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COLORS)
+    public void setHeaderColorStyle() {
+        FxPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                for (HeaderColorStyle style : STYLES) {
+                    dialog.setHeaderColorStyle(style);
+                    header.applyCss();
+                }
+            }
+        });
+    }
+
+    private static HeaderColorStyle[] predefinedStyles() {
+        List<HeaderColorStyle> styles = new ArrayList<>();
+        for (HeaderColorStyle style : HeaderColorStyle.values()) {
+            if (!style.getColorStyle().isEmpty()) {
+                styles.add(style);
+            }
+        }
+        return styles.toArray(new HeaderColorStyle[styles.size()]);
+    }
+}
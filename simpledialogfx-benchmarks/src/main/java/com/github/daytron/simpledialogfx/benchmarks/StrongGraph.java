@@ -0,0 +1,151 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.benchmarks;
+
+import java.lang.ref.Reference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.openjdk.jol.util.ObjectUtils;
+import org.openjdk.jol.vm.VM;
+
+/**
+ * Measures the objects strongly reachable from a set of roots, with the
+ * object sizes of the running JVM as computed by JOL.
+ * <p>
+ * Unlike <code>GraphLayout</code>, the walk does not follow the referents of
+ * weak and soft references, nor classes, class loaders and threads. These
+ * lead to the caches and registries shared by the whole toolkit, and from
+ * there to every other dialog built so far, so they are not part of the
+ * heap a dialog retains.
+ *
+ * @author Ryan Gilera
+ */
+final class StrongGraph {
+
+    private static final Map<Class<?>, List<Field>> FIELDS = new HashMap<>();
+
+    private final Set<Object> visited;
+    private long size;
+
+    private StrongGraph() {
+        this.visited = Collections.newSetFromMap(
+                new IdentityHashMap<Object, Boolean>());
+    }
+
+    /**
+     * Walks the objects strongly reachable from the given roots.
+     *
+     * @param roots The objects to start from
+     * @return The walked graph
+     */
+    static StrongGraph walk(Object... roots) {
+        StrongGraph graph = new StrongGraph();
+        Deque<Object> pending = new ArrayDeque<>();
+        for (Object root : roots) {
+            graph.visit(root, pending);
+        }
+
+        while (!pending.isEmpty()) {
+            Object object = pending.removeLast();
+            Class<?> type = object.getClass();
+
+            if (type.isArray()) {
+                if (!type.getComponentType().isPrimitive()) {
+                    for (Object element : (Object[]) object) {
+                        graph.visit(element, pending);
+                    }
+                }
+                continue;
+            }
+
+            for (Field field : fields(type)) {
+                graph.visit(ObjectUtils.value(object, field), pending);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Retrieves the number of objects in the graph.
+     *
+     * @return The object count
+     */
+    long count() {
+        return this.visited.size();
+    }
+
+    /**
+     * Retrieves the total size of the objects in the graph.
+     *
+     * @return The size in bytes
+     */
+    long size() {
+        return this.size;
+    }
+
+    private void visit(Object object, Deque<Object> pending) {
+        if (object == null || object instanceof Class
+                || object instanceof ClassLoader || object instanceof Thread
+                || !this.visited.add(object)) {
+            return;
+        }
+        this.size += VM.current().sizeOf(object);
+        pending.addLast(object);
+    }
+
+    /**
+     * Lists the reference fields of a class and its superclasses that hold
+     * strong references.
+     */
+    private static synchronized List<Field> fields(Class<?> type) {
+        List<Field> fields = FIELDS.get(type);
+        if (fields != null) {
+            return fields;
+        }
+
+        fields = new ArrayList<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())
+                        || field.getType().isPrimitive()
+                        || (c == Reference.class
+                        && field.getName().equals("referent"))) {
+                    continue;
+                }
+                fields.add(field);
+            }
+        }
+        FIELDS.put(type, fields);
+        return fields;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.benchmarks;
+
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+import com.github.daytron.simpledialogfx.data.DialogStyle;
+import com.github.daytron.simpledialogfx.data.HeaderColorStyle;
+import com.github.daytron.simpledialogfx.dialog.Dialog;
+import com.github.daytron.simpledialogfx.dialog.DialogType;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Leak regression test of the dialog lifecycle. Dialogs of every type are
+ * shown and answered through one of their buttons, with
+ * <code>setReleaseOnClose(true)</code>, so each one goes through the same
+ * close path as in an application.
+ *
+ * @author Ryan Gilera
+ */
+public class DialogLeakTest {
+
+    private static final int DIALOGS = 10000;
+    // Number of dialogs after which the retained heap is first measured
+    private static final int FIRST_DIALOGS = 1000;
+    // Heap a closed, released dialog may keep: its response, texts and the
+    // Stage itself
+    private static final long MAX_BYTES_PER_DIALOG = 4096;
+    // How much more the later dialogs may each retain than the first ones,
+    // leaving room for their longer texts
+    private static final double MAX_GROWTH = 0.05;
+    // Dialogs the toolkit may still reference right after a close, such as
+    // the last focused window
+    private static final int MAX_LINGERING_DIALOGS = 2;
+
+    @BeforeClass
+    public static void startPlatform() {
+        FxPlatform.start();
+    }
+
+    /**
+     * Closed dialogs kept by the application for their response retain a
+     * small, fixed amount of heap each, so the retained heap grows by the
+     * same amount per dialog from the first thousand dialogs to the last.
+     */
+    @Test
+    public void testRetainedHeapStaysFlat() throws Exception {
+        List<Dialog> retained = new ArrayList<>(DIALOGS);
+        long first = 0;
+        for (int i = 0; i < DIALOGS; i++) {
+            Dialog dialog = showAndRespond(i);
+            assertTrue(dialog.isReleased());
+            retained.add(dialog);
+            if (retained.size() == FIRST_DIALOGS) {
+                first = retainedSize(retained);
+            }
+        }
+        long all = retainedSize(retained);
+
+        long perFirstDialog = first / FIRST_DIALOGS;
+        long perLaterDialog = (all - first) / (DIALOGS - FIRST_DIALOGS);
+        assertTrue(perFirstDialog + " bytes retained per closed dialog",
+                perFirstDialog <= MAX_BYTES_PER_DIALOG);
+        assertTrue(perLaterDialog + " bytes retained per later dialog, "
+                + perFirstDialog + " per first dialog",
+                perLaterDialog <= perFirstDialog * (1 + MAX_GROWTH));
+    }
+
+    /**
+     * Nothing but the application keeps a closed dialog reachable.
+     */
+    @Test
+    public void testClosedDialogsAreCollected() throws Exception {
+        List<WeakReference<Dialog>> closed = new ArrayList<>(DIALOGS);
+        for (int i = 0; i < DIALOGS; i++) {
+            closed.add(new WeakReference<>(showAndRespond(i)));
+        }
+        FxPlatform.drain();
+
+        int lingering = DIALOGS;
+        for (int attempt = 0; attempt < 10
+                && lingering > MAX_LINGERING_DIALOGS; attempt++) {
+            System.gc();
+            Thread.sleep(100);
+            lingering = 0;
+            for (WeakReference<Dialog> reference : closed) {
+                if (reference.get() != null) {
+                    lingering++;
+                }
+            }
+        }
+        assertTrue(lingering + " closed dialogs still reachable",
+                lingering <= MAX_LINGERING_DIALOGS);
+    }
+
+    /**
+     * Sizes the objects strongly reachable from the given dialogs.
+     */
+    private static long retainedSize(final List<Dialog> dialogs) {
+        return FxPlatform.call(new Callable<Long>() {
+            @Override
+            public Long call() {
+                return StrongGraph.walk(dialogs.toArray()).size();
+            }
+        });
+    }
+
+    /**
+     * Shows a dialog, answers it through its first button and waits for its
+     * response.
+     */
+    private static Dialog showAndRespond(final int index) throws Exception {
+        final CompletableFuture<DialogResponse> response
+                = new CompletableFuture<>();
+        Dialog dialog = FxPlatform.call(new Callable<Dialog>() {
+            @Override
+            public Dialog call() {
+                DialogType[] types = DialogType.values();
+                Dialog dialog = new Dialog(types[index % types.length],
+                        DialogStyle.NATIVE, "Dialog " + index,
+                        "Header " + index, HeaderColorStyle.GLOSS_INFO,
+                        "Details " + index, failure(index));
+                dialog.setReleaseOnClose(true);
+                dialog.showAsync().thenAccept(
+                        new Consumer<DialogResponse>() {
+                            @Override
+                            public void accept(DialogResponse value) {
+                                response.complete(value);
+                            }
+                        });
+
+                for (Node node : dialog.getScene().getRoot()
+                        .lookupAll(".button")) {
+                    if (!node.isDisabled()) {
+                        ((Button) node).fire();
+                        break;
+                    }
+                }
+                return dialog;
+            }
+        });
+
+        DialogResponse value = response.get(5, TimeUnit.SECONDS);
+        assertTrue(value != DialogResponse.NO_RESPONSE);
+        assertEquals(value, dialog.getResponse());
+        return dialog;
+    }
+
+    private static Exception failure(int index) {
+        Exception cause = new IllegalArgumentException("Cause " + index);
+        return new IllegalStateException("Failure " + index, cause);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.jfr;
+
+import com.github.daytron.simpledialogfx.dialog.Dialog;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Fields shared by all dialog lifecycle events.
+ *
+ * @author Ryan Gilera
+ */
+@Category("SimpleDialogFX")
+abstract class DialogEvent extends Event {
+
+    @Label("Dialog Type")
+    String dialogType;
+
+    @Label("Dialog Style")
+    String dialogStyle;
+
+    @Label("Header Color Style")
+    String headerColorStyle;
+
+    @Label("Title")
+    String title;
+
+    /**
+     * Copies the description of a dialog into the event.
+     *
+     * @param dialog The dialog the event is about
+     */
+    void describe(Dialog dialog) {
+        this.dialogType = String.valueOf(dialog.getDialogType());
+        this.dialogStyle = String.valueOf(dialog.getDialogStyle());
+        this.headerColorStyle = String.valueOf(dialog.getHeaderColorStyle());
+        this.title = dialog.getTitle();
+    }
+}
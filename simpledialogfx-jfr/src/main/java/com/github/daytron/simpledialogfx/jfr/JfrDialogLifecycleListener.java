@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.jfr;
+
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+import com.github.daytron.simpledialogfx.dialog.Dialog;
+import com.github.daytron.simpledialogfx.dialog.DialogLifecycleListener;
+
+/**
+ * Emits a JDK Flight Recorder event for each dialog lifecycle event.
+ * <p>
+ * Registered automatically through <code>META-INF/services</code> when this
+ * jar is on the class path. Events are only filled in and committed when
+ * they are enabled in a running recording; otherwise the JIT removes the
+ * event allocation, so nothing is recorded or allocated.
+ *
+ * @author Ryan Gilera
+ */
+public final class JfrDialogLifecycleListener implements DialogLifecycleListener {
+
+    @Override
+    public void dialogConstructed(Dialog dialog, long loadNanos,
+            long constructNanos) {
+        DialogFxmlLoadedEvent loaded = new DialogFxmlLoadedEvent();
+        if (loaded.isEnabled() && constructNanos > 0) {
+            loaded.describe(dialog);
+            loaded.loadTime = loadNanos;
+            loaded.commit();
+        }
+
+        DialogConstructedEvent constructed = new DialogConstructedEvent();
+        if (constructed.isEnabled()) {
+            constructed.describe(dialog);
+            constructed.constructionTime = constructNanos;
+            constructed.loadingError = dialog.isLoadingError();
+            constructed.commit();
+        }
+    }
+
+    @Override
+    public void dialogShown(Dialog dialog, long sinceConstructedNanos) {
+        DialogShownEvent event = new DialogShownEvent();
+        if (event.isEnabled()) {
+            event.describe(dialog);
+            event.sinceConstructed = sinceConstructedNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void dialogResponded(Dialog dialog, DialogResponse response,
+            long sinceShownNanos) {
+        DialogRespondedEvent event = new DialogRespondedEvent();
+        if (event.isEnabled()) {
+            event.describe(dialog);
+            event.response = String.valueOf(response);
+            event.responseTime = sinceShownNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void dialogClosed(Dialog dialog, long sinceShownNanos) {
+        DialogClosedEvent event = new DialogClosedEvent();
+        if (event.isEnabled()) {
+            event.describe(dialog);
+            event.response = String.valueOf(dialog.getResponse());
+            event.timeShown = sinceShownNanos;
+            event.commit();
+        }
+    }
+}
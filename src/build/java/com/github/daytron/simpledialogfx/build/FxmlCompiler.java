@@ -0,0 +1,651 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.build;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.ProcessingInstruction;
+
+/**
+ * Build time tool that translates the dialog FXML layouts into plain Java
+ * scene builders, so that no XML parsing or reflective instantiation happens
+ * when a dialog is opened.
+ * <p>
+ * Every <code>Name.fxml</code> file found in the input directory becomes a
+ * <code>NameLayout</code> class implementing <code>CompiledLayout</code> in
+ * the given package. The compiler uses reflection on the JavaFX classes to
+ * resolve property types, the same way <code>FXMLLoader</code> does at
+ * runtime. Files using FXML features not supported here are skipped with a
+ * warning; the library then falls back to <code>FXMLLoader</code> for them.
+ * <p>
+ * Usage: <code>FxmlCompiler &lt;fxml dir&gt; &lt;resource path&gt;
+ * &lt;output dir&gt; &lt;package&gt;</code>
+ *
+ * @author Ryan Gilera
+ */
+public final class FxmlCompiler {
+
+    private static final String FXML_NAMESPACE = "http://javafx.com/fxml/1";
+    private static final String XMLNS_NAMESPACE = "http://www.w3.org/2000/xmlns/";
+    private static final String LAYOUT_SUFFIX = "Layout";
+
+    private final String resourcePath;
+    private final String packageName;
+    private final String className;
+    private final List<String> imports;
+    private final StringBuilder body;
+    private int counter;
+    private boolean rawTypes;
+
+    private FxmlCompiler(String resourcePath, String packageName,
+            String className) {
+        this.resourcePath = resourcePath;
+        this.packageName = packageName;
+        this.className = className;
+        this.imports = new ArrayList<>();
+        this.body = new StringBuilder();
+        this.counter = 0;
+        this.rawTypes = false;
+    }
+
+    /**
+     * Compiles every FXML file of the input directory.
+     *
+     * @param args Input directory, resource path of the input directory,
+     * output source directory and target package
+     * @throws Exception If the output cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            throw new IllegalArgumentException("Usage: FxmlCompiler "
+                    + "<fxml dir> <resource path> <output dir> <package>");
+        }
+
+        File inputDir = new File(args[0]);
+        String resourceDir = args[1].endsWith("/") ? args[1] : args[1] + "/";
+        File outputDir = new File(args[2], args[3].replace('.', File.separatorChar));
+
+        File[] files = inputDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("Unable to create " + outputDir);
+        }
+
+        for (File file : files) {
+            String fileName = file.getName();
+            if (!fileName.endsWith(".fxml")) {
+                continue;
+            }
+
+            String baseName = fileName.substring(0, fileName.length() - 5);
+            String layoutName = baseName + LAYOUT_SUFFIX;
+            File target = new File(outputDir, layoutName + ".java");
+
+            try {
+                FxmlCompiler compiler = new FxmlCompiler(resourceDir + fileName,
+                        args[3], layoutName);
+                write(target, compiler.compile(file));
+                System.out.println("[fxml-compiler] " + fileName + " -> "
+                        + args[3] + "." + layoutName);
+            } catch (CompileException ex) {
+                // Leave the file to FXMLLoader at runtime
+                if (target.exists() && !target.delete()) {
+                    throw new IOException("Unable to delete stale " + target);
+                }
+                System.err.println("[fxml-compiler] WARNING: " + fileName
+                        + " is not compiled and will be loaded with FXMLLoader: "
+                        + ex.getMessage());
+            }
+        }
+    }
+
+    private static void write(File target, String source) throws IOException {
+        try (Writer writer = new OutputStreamWriter(
+                new FileOutputStream(target), "UTF-8")) {
+            writer.write(source);
+        }
+    }
+
+    private String compile(File file) throws CompileException {
+        Document document;
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            document = builder.parse(file);
+        } catch (Exception ex) {
+            throw new CompileException("unable to parse: " + ex.getMessage());
+        }
+
+        NodeList nodes = document.getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Node node = nodes.item(i);
+            if (node instanceof ProcessingInstruction
+                    && "import".equals(((ProcessingInstruction) node).getTarget())) {
+                this.imports.add(((ProcessingInstruction) node).getData().trim());
+            }
+        }
+
+        String root = emitInstance(document.getDocumentElement());
+
+        StringBuilder source = new StringBuilder();
+        source.append("// Generated by FxmlCompiler from ").append(resourcePath)
+                .append(". Do not edit.\n");
+        source.append("package ").append(packageName).append(";\n\n");
+        source.append("final class ").append(className)
+                .append(" implements CompiledLayout {\n\n");
+        if (this.rawTypes) {
+            source.append("    @SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+        }
+        source.append("    @Override\n");
+        source.append("    public javafx.scene.Parent build(CompiledLayout.Binder binder) {\n");
+        source.append(body);
+        source.append("        return ").append(root).append(";\n");
+        source.append("    }\n");
+        source.append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * Emits the construction of an object element and returns the name of
+     * the local variable holding it.
+     */
+    private String emitInstance(Element element) throws CompileException {
+        Class<?> type = resolveClass(element.getLocalName());
+        String typeName = type.getCanonicalName();
+        String var = "n" + (this.counter++);
+
+        // Generic nodes such as ListView are built with their raw type
+        if (type.getTypeParameters().length > 0) {
+            this.rawTypes = true;
+        }
+
+        // Split the attributes into fx:id and plain properties
+        String fxId = null;
+        Map<String, String> properties = new LinkedHashMap<>();
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attr = (Attr) attributes.item(i);
+            String ns = attr.getNamespaceURI();
+            if (XMLNS_NAMESPACE.equals(ns)) {
+                continue;
+            }
+            if (FXML_NAMESPACE.equals(ns)) {
+                if ("id".equals(attr.getLocalName())) {
+                    fxId = attr.getValue();
+                    continue;
+                }
+                throw new CompileException("unsupported attribute fx:"
+                        + attr.getLocalName());
+            }
+            properties.put(attr.getName(), attr.getValue());
+        }
+
+        // Instantiate, either with the default constructor or with the
+        // @NamedArg constructor that covers the given attributes
+        if (hasDefaultConstructor(type)) {
+            line(typeName + " " + var + " = new " + typeName + "();");
+        } else {
+            line(typeName + " " + var + " = new " + typeName + "("
+                    + namedArguments(type, properties) + ");");
+        }
+
+        // fx:id doubles as the node id unless an explicit id is given
+        if (fxId != null && !properties.containsKey("id")
+                && findSetter(type, "id") != null) {
+            line(var + ".setId(" + quote(fxId) + ");");
+        }
+
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            emitAttribute(var, type, entry.getKey(), entry.getValue());
+        }
+
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+
+            Element childElement = (Element) child;
+            String name = childElement.getLocalName();
+            int dot = name.lastIndexOf('.');
+
+            if (dot > 0 && Character.isLowerCase(name.charAt(dot + 1))) {
+                emitStaticPropertyElement(var, name.substring(0, dot),
+                        name.substring(dot + 1), childElement);
+            } else if (Character.isLowerCase(name.charAt(0))) {
+                emitPropertyElement(var, type, name, childElement);
+            } else {
+                throw new CompileException("default properties are not "
+                        + "supported, wrap <" + name + "> in a property element");
+            }
+        }
+
+        if (fxId != null) {
+            line("binder.bind(" + quote(fxId) + ", " + var + ");");
+        }
+
+        return var;
+    }
+
+    private void emitAttribute(String var, Class<?> type, String name,
+            String value) throws CompileException {
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            Class<?> owner = resolveClass(name.substring(0, dot));
+            Method setter = findStaticSetter(owner, name.substring(dot + 1));
+            line(owner.getCanonicalName() + "." + setter.getName() + "(" + var
+                    + ", " + literal(setter.getParameterTypes()[1], value) + ");");
+            return;
+        }
+
+        if (value.startsWith("#")) {
+            Method setter = findSetter(type, name);
+            if (setter == null || !name.startsWith("on")
+                    || !"javafx.event.EventHandler".equals(
+                            setter.getParameterTypes()[0].getName())) {
+                throw new CompileException("unsupported event handler " + name);
+            }
+            line(var + "." + setter.getName() + "(binder.handler("
+                    + quote(value.substring(1)) + "));");
+            return;
+        }
+
+        Method setter = findSetter(type, name);
+        if (setter != null) {
+            line(var + "." + setter.getName() + "("
+                    + literal(setter.getParameterTypes()[0], value) + ");");
+            return;
+        }
+
+        Method getter = findGetter(type, name);
+        if (getter != null && List.class.isAssignableFrom(getter.getReturnType())) {
+            // Read-only list of strings, such as styleClass or stylesheets
+            for (String item : value.split(",")) {
+                line(var + "." + getter.getName() + "().add("
+                        + literal(String.class, item.trim()) + ");");
+            }
+            return;
+        }
+
+        throw new CompileException("unknown property " + type.getSimpleName()
+                + "." + name);
+    }
+
+    private void emitPropertyElement(String var, Class<?> type, String name,
+            Element element) throws CompileException {
+        List<Element> values = childElements(element);
+
+        Method getter = findGetter(type, name);
+        if (getter != null && List.class.isAssignableFrom(getter.getReturnType())) {
+            for (Element value : values) {
+                String child = emitInstance(value);
+                line(var + "." + getter.getName() + "().add(" + child + ");");
+            }
+            return;
+        }
+
+        Method setter = findSetter(type, name);
+        if (setter == null || values.size() != 1) {
+            throw new CompileException("unsupported property element "
+                    + type.getSimpleName() + "." + name);
+        }
+        String child = emitInstance(values.get(0));
+        line(var + "." + setter.getName() + "(" + child + ");");
+    }
+
+    private void emitStaticPropertyElement(String var, String ownerName,
+            String name, Element element) throws CompileException {
+        Class<?> owner = resolveClass(ownerName);
+        Method setter = findStaticSetter(owner, name);
+        List<Element> values = childElements(element);
+        if (values.size() != 1) {
+            throw new CompileException("static property " + ownerName + "."
+                    + name + " expects a single value");
+        }
+        String child = emitInstance(values.get(0));
+        line(owner.getCanonicalName() + "." + setter.getName() + "(" + var
+                + ", " + child + ");");
+    }
+
+    private String namedArguments(Class<?> type, Map<String, String> properties)
+            throws CompileException {
+        Constructor<?> best = null;
+        String[] bestNames = null;
+
+        for (Constructor<?> constructor : type.getConstructors()) {
+            String[] names = namedArgs(constructor);
+            if (names == null) {
+                continue;
+            }
+            if (!Arrays.asList(names).containsAll(properties.keySet())) {
+                continue;
+            }
+            if (best == null || names.length < bestNames.length) {
+                best = constructor;
+                bestNames = names;
+            }
+        }
+
+        if (best == null) {
+            throw new CompileException("no usable constructor for "
+                    + type.getSimpleName() + " with " + properties.keySet());
+        }
+
+        Class<?>[] parameterTypes = best.getParameterTypes();
+        Annotation[][] annotations = best.getParameterAnnotations();
+        StringBuilder arguments = new StringBuilder();
+        for (int i = 0; i < bestNames.length; i++) {
+            String value = properties.remove(bestNames[i]);
+            if (value == null) {
+                value = namedArgDefault(annotations[i]);
+            }
+            if (i > 0) {
+                arguments.append(", ");
+            }
+            if (value == null || value.isEmpty()) {
+                arguments.append(defaultLiteral(parameterTypes[i]));
+            } else {
+                arguments.append(literal(parameterTypes[i], value));
+            }
+        }
+        return arguments.toString();
+    }
+
+    private static String[] namedArgs(Constructor<?> constructor) {
+        Annotation[][] annotations = constructor.getParameterAnnotations();
+        String[] names = new String[annotations.length];
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if ("javafx.beans.NamedArg".equals(
+                        annotation.annotationType().getName())) {
+                    names[i] = (String) annotationValue(annotation, "value");
+                }
+            }
+            if (names[i] == null) {
+                return null;
+            }
+        }
+        return names;
+    }
+
+    private static String namedArgDefault(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if ("javafx.beans.NamedArg".equals(
+                    annotation.annotationType().getName())) {
+                return (String) annotationValue(annotation, "defaultValue");
+            }
+        }
+        return null;
+    }
+
+    private static Object annotationValue(Annotation annotation, String name) {
+        try {
+            return annotation.annotationType().getMethod(name).invoke(annotation);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+
+    private String literal(Class<?> type, String value) throws CompileException {
+        if (type == String.class || type == Object.class) {
+            if (value.startsWith("@")) {
+                return className + ".class.getResource("
+                        + quote(resolveLocation(value.substring(1)))
+                        + ").toExternalForm()";
+            }
+            if (value.startsWith("%") || value.startsWith("$")) {
+                throw new CompileException("unsupported expression " + value);
+            }
+            return quote(value.startsWith("\\") ? value.substring(1) : value);
+        }
+
+        try {
+            if (type == double.class || type == Double.class) {
+                return doubleLiteral(value);
+            }
+            if (type == int.class || type == Integer.class) {
+                return Integer.toString(Integer.parseInt(value));
+            }
+            if (type == boolean.class || type == Boolean.class) {
+                return Boolean.toString(Boolean.parseBoolean(value));
+            }
+        } catch (NumberFormatException ex) {
+            throw new CompileException("invalid number " + value);
+        }
+
+        if (type.isEnum()) {
+            String constant = value.toUpperCase();
+            try {
+                if (type.getField(constant).isEnumConstant()) {
+                    return type.getCanonicalName() + "." + constant;
+                }
+            } catch (NoSuchFieldException ex) {
+                // Reported below
+            }
+            throw new CompileException("unknown " + type.getSimpleName()
+                    + " constant " + value);
+        }
+
+        if ("javafx.scene.paint.Paint".equals(type.getName())
+                || "javafx.scene.paint.Color".equals(type.getName())) {
+            return "javafx.scene.paint.Color.web(" + quote(value) + ")";
+        }
+
+        throw new CompileException("unsupported attribute type "
+                + type.getName());
+    }
+
+    private static String doubleLiteral(String value) {
+        String trimmed = value.trim();
+        if ("Infinity".equals(trimmed) || "+Infinity".equals(trimmed)) {
+            return "Double.POSITIVE_INFINITY";
+        }
+        if ("-Infinity".equals(trimmed)) {
+            return "Double.NEGATIVE_INFINITY";
+        }
+        if ("NaN".equals(trimmed)) {
+            return "Double.NaN";
+        }
+        double parsed = Double.parseDouble(trimmed);
+        if (parsed == Double.MAX_VALUE) {
+            return "Double.MAX_VALUE";
+        }
+        return Double.toString(parsed);
+    }
+
+    private static String defaultLiteral(Class<?> type) {
+        if (type == boolean.class) {
+            return "false";
+        }
+        if (type == double.class) {
+            return "0.0";
+        }
+        if (type.isPrimitive()) {
+            return "0";
+        }
+        return "null";
+    }
+
+    private String resolveLocation(String location) {
+        if (location.startsWith("/")) {
+            return location;
+        }
+        return URI.create(resourcePath).resolve(location).normalize().getPath();
+    }
+
+    private Class<?> resolveClass(String name) throws CompileException {
+        ClassLoader loader = FxmlCompiler.class.getClassLoader();
+        for (String imported : this.imports) {
+            String candidate;
+            if (imported.endsWith(".*")) {
+                candidate = imported.substring(0, imported.length() - 1) + name;
+            } else if (imported.endsWith("." + name)) {
+                candidate = imported;
+            } else {
+                continue;
+            }
+
+            try {
+                return Class.forName(candidate, false, loader);
+            } catch (ClassNotFoundException | LinkageError ex) {
+                // Try the next import
+            }
+        }
+        throw new CompileException("unable to resolve class " + name);
+    }
+
+    private static boolean hasDefaultConstructor(Class<?> type) {
+        try {
+            return Modifier.isPublic(type.getConstructor().getModifiers());
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+    }
+
+    private static Method findSetter(Class<?> type, String property) {
+        String name = "set" + capitalize(property);
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name)
+                    && method.getParameterTypes().length == 1
+                    && !Modifier.isStatic(method.getModifiers())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static Method findGetter(Class<?> type, String property) {
+        String name = "get" + capitalize(property);
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name)
+                    && method.getParameterTypes().length == 0
+                    && !Modifier.isStatic(method.getModifiers())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static Method findStaticSetter(Class<?> owner, String property)
+            throws CompileException {
+        String name = "set" + capitalize(property);
+        for (Method method : owner.getMethods()) {
+            if (method.getName().equals(name)
+                    && method.getParameterTypes().length == 2
+                    && Modifier.isStatic(method.getModifiers())) {
+                return method;
+            }
+        }
+        throw new CompileException("unknown static property "
+                + owner.getSimpleName() + "." + property);
+    }
+
+    private static List<Element> childElements(Element element) {
+        List<Element> elements = new ArrayList<>();
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
+                elements.add((Element) children.item(i));
+            }
+        }
+        return elements;
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private static String quote(String text) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private void line(String code) {
+        this.body.append("        ").append(code).append('\n');
+    }
+
+    /**
+     * Signals an FXML construct that cannot be translated to Java.
+     */
+    private static final class CompileException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        CompileException(String message) {
+            super(message);
+        }
+    }
+}
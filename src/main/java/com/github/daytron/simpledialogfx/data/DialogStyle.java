@@ -41,5 +41,14 @@ public enum DialogStyle {
     /**
      * A dialog without its header
      */
-    HEADLESS;
+    HEADLESS,
+    /**
+     * A modal overlay mounted inside the scene of its owner window, without
+     * a native window of its own. Shown with <code>showAsync()</code> or
+     * <code>showInline()</code>. <code>show()</code> and
+     * <code>showAndWait()</code> do not wait for a response: the window they
+     * open is closed right away and the dialog is mounted in its owner's
+     * scene, or a warning is logged if there is no owner with a scene.
+     */
+    INLINE;
 }
@@ -93,6 +93,31 @@ public enum DialogText {
      * is null
      */
     NO_EXCEPTION_TRACE("No trace found."),
+    /**
+     * Exception dialog details message for an exception reported several
+     * times, formatted with the exception class name and the occurrence count
+     */
+    EXCEPTION_OCCURRENCES("%s (occurred %d times)"),
+    /**
+     * Input text dialog message shown below the text field when a validator
+     * failed to check the text
+     */
+    VALIDATION_FAILED_MSG("The text could not be validated."),
+    /**
+     * Multi-line input dialog message shown below the text area once the
+     * input grows large, formatted with its length and the maximum length
+     */
+    INPUT_SIZE_WARNING("Large input: %,d of at most %,d characters."),
+    /**
+     * Multi-line input dialog message shown below the text area when pasted
+     * text was cut to the maximum length
+     */
+    INPUT_TRUNCATED("Input cut to the limit of %,d characters."),
+    /**
+     * Log exception message printed on the console whenever an exception
+     * dialog is suppressed by the rate limit
+     */
+    SUPPRESSED_EXCEPTION_LOG_MSG("Exception dialog suppressed by the rate limit."),
     /**
      * Log exception message printed on the console whenever an exception is
      * encountered
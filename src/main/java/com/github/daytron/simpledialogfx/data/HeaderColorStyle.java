@@ -23,8 +23,16 @@
  */
 package com.github.daytron.simpledialogfx.data;
 
+import javafx.geometry.Insets;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.paint.Paint;
+
 /**
- * List of predefined CSS color styles for the dialog's header label.
+ * List of predefined CSS color styles for the dialog's header label. Each
+ * color is also available as a shared <code>Background</code>, which dialogs
+ * apply to the header without parsing the CSS.
  *
  * @author Ryan Gilera
  */
@@ -374,6 +382,8 @@ public enum HeaderColorStyle {
     OPAQUE_YELLOW("-fx-background-color: rgba(255,255,1,0.4)");
     
     private final String colorStyle;
+    // Built on first use from the color style
+    private volatile Background background;
 
     private HeaderColorStyle(String colorStyle) {
         this.colorStyle = colorStyle;
@@ -388,4 +398,46 @@ public enum HeaderColorStyle {
         return colorStyle;
     }
 
+    /**
+     * Retrieve the header background of this color style. It is built once
+     * from the color style on first use and shared by all dialogs, so
+     * applying it needs no CSS parsing. DEFAULT and CUSTOM return null.
+     *
+     * @return The immutable <code>Background</code>, or null if there is no
+     * predefined color
+     */
+    public Background getBackground() {
+        if (colorStyle.isEmpty()) {
+            return null;
+        }
+
+        Background result = background;
+        if (result == null) {
+            result = new Background(new BackgroundFill(parsePaint(),
+                    CornerRadii.EMPTY, Insets.EMPTY));
+            background = result;
+        }
+        return result;
+    }
+
+    /**
+     * Retrieve the paint of this color style, either a <code>Color</code> or
+     * a <code>LinearGradient</code>. DEFAULT and CUSTOM return null.
+     *
+     * @return The immutable <code>Paint</code>, or null if there is no
+     * predefined color
+     */
+    public Paint getPaint() {
+        Background result = getBackground();
+        return result == null ? null : result.getFills().get(0).getFill();
+    }
+
+    private Paint parsePaint() {
+        String value = colorStyle.substring(colorStyle.indexOf(':') + 1).trim();
+        if (value.endsWith(";")) {
+            value = value.substring(0, value.length() - 1).trim();
+        }
+        return Paint.valueOf(value);
+    }
+
 }
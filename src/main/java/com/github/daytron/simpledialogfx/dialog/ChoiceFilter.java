@@ -0,0 +1,230 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+
+/**
+ * Filters the choices of a CHOICE dialog as the user types, without
+ * rescanning the whole list on every keystroke.
+ * <p>
+ * A choice matches when it contains the query, ignoring case. Every choice
+ * matching a query also matches the queries it contains, so the matches of
+ * each query typed so far are kept on a stack: typing one more character
+ * only tests the matches of the previous query, and deleting one goes back
+ * to the matches already found. The full list is only scanned again when
+ * the query no longer contains any remembered query. The stack is bounded
+ * by the number of choices it retains.
+ * <p>
+ * Not thread safe; only used on the FX thread.
+ *
+ * @author Ryan Gilera
+ */
+final class ChoiceFilter {
+
+    // Bound on the retained match indices, as a multiple of the choice count
+    private static final int RETAINED_FACTOR = 2;
+
+    private final List<String> choices;
+    // Lower case choices, built on the first filtered query
+    private String[] keys;
+    // Queries along the current typing path, each containing those below
+    private final Deque<Narrowing> history;
+    private long retained;
+    // Number of choices tested by the last call to filter()
+    private int tested;
+
+    ChoiceFilter(List<String> choices) {
+        this.choices = choices;
+        this.history = new ArrayDeque<>();
+    }
+
+    /**
+     * Finds the choices containing a query.
+     *
+     * @param query The text typed by the user
+     * @return The indices of the matching choices in ascending order, or null
+     * if every choice matches
+     */
+    int[] filter(String query) {
+        this.tested = 0;
+        String key = query == null ? "" : query.toLowerCase(Locale.ROOT);
+        if (key.isEmpty()) {
+            clear();
+            return null;
+        }
+
+        // Drop the queries the new one no longer narrows down
+        while (!this.history.isEmpty()
+                && !key.contains(this.history.peekLast().query)) {
+            this.retained -= this.history.removeLast().matches.length;
+        }
+
+        Narrowing narrowest = this.history.peekLast();
+        if (narrowest != null && narrowest.query.equals(key)) {
+            return narrowest.matches;
+        }
+
+        int[] matches = narrowest != null
+                ? narrow(key, narrowest.matches)
+                : scan(key);
+        remember(key, matches);
+        return matches;
+    }
+
+    /**
+     * Retrieves the number of choices tested by the last filtered query. It
+     * is the size of the whole list only when nothing could be reused.
+     *
+     * @return The tested count
+     */
+    int getTestedCount() {
+        return this.tested;
+    }
+
+    /**
+     * Forgets the remembered queries.
+     */
+    void clear() {
+        this.history.clear();
+        this.retained = 0;
+    }
+
+    /**
+     * Wraps the matches of a query in a list of the matching choices, without
+     * copying them.
+     *
+     * @param matches The indices returned by <code>filter</code>
+     * @return The matching choices
+     */
+    List<String> view(int[] matches) {
+        return matches == null ? this.choices : new Matches(this.choices, matches);
+    }
+
+    private int[] scan(String key) {
+        String[] lowerCase = keys();
+        int[] found = new int[lowerCase.length];
+        int count = 0;
+        for (int i = 0; i < lowerCase.length; i++) {
+            if (lowerCase[i].contains(key)) {
+                found[count++] = i;
+            }
+        }
+        this.tested = lowerCase.length;
+        return Arrays.copyOf(found, count);
+    }
+
+    private int[] narrow(String key, int[] candidates) {
+        String[] lowerCase = keys();
+        int[] found = new int[candidates.length];
+        int count = 0;
+        for (int index : candidates) {
+            if (lowerCase[index].contains(key)) {
+                found[count++] = index;
+            }
+        }
+        this.tested = candidates.length;
+        return Arrays.copyOf(found, count);
+    }
+
+    private void remember(String key, int[] matches) {
+        this.history.addLast(new Narrowing(key, matches));
+        this.retained += matches.length;
+
+        // The widest queries are the cheapest to lose: the full list is
+        // scanned once more if the user goes back to them
+        long budget = (long) RETAINED_FACTOR * this.choices.size();
+        while (this.retained > budget && this.history.size() > 1) {
+            this.retained -= this.history.removeFirst().matches.length;
+        }
+    }
+
+    private String[] keys() {
+        if (this.keys == null) {
+            String[] lowerCase = new String[this.choices.size()];
+            for (int i = 0; i < lowerCase.length; i++) {
+                String choice = this.choices.get(i);
+                lowerCase[i] = choice == null
+                        ? "" : choice.toLowerCase(Locale.ROOT);
+            }
+            this.keys = lowerCase;
+        }
+        return this.keys;
+    }
+
+    /**
+     * A query and the indices of the choices containing it.
+     */
+    private static final class Narrowing {
+
+        private final String query;
+        private final int[] matches;
+
+        Narrowing(String query, int[] matches) {
+            this.query = query;
+            this.matches = matches;
+        }
+    }
+
+    /**
+     * The matching choices, read through from the full list.
+     */
+    static final class Matches extends AbstractList<String>
+            implements RandomAccess {
+
+        private final List<String> choices;
+        private final int[] indices;
+
+        Matches(List<String> choices, int[] indices) {
+            this.choices = choices;
+            this.indices = indices;
+        }
+
+        @Override
+        public String get(int index) {
+            return this.choices.get(this.indices[index]);
+        }
+
+        @Override
+        public int size() {
+            return this.indices.length;
+        }
+
+        /**
+         * Retrieves the position of a match in the full list.
+         *
+         * @param index The position in the matches
+         * @return The position in the full list
+         */
+        int sourceIndex(int index) {
+            return this.indices[index];
+        }
+    }
+}
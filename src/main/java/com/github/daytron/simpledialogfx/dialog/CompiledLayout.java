@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.Parent;
+
+/**
+ * A dialog layout translated from FXML into plain Java at build time.
+ * Implementations are generated from the files under
+ * <code>src/main/resources/fxml</code> and build the same scene graph as
+ * <code>FXMLLoader</code> would, without parsing XML or using reflection.
+ *
+ * @author Ryan Gilera
+ */
+interface CompiledLayout {
+
+    /**
+     * Builds a new scene graph for the layout.
+     *
+     * @param binder Receives the <code>fx:id</code> nodes and resolves the
+     * event handlers declared in the layout
+     * @return The root node of the layout
+     */
+    Parent build(Binder binder);
+
+    /**
+     * Connects a compiled layout to its controller, the counterpart of the
+     * <code>@FXML</code> injection done by <code>FXMLLoader</code>.
+     */
+    interface Binder {
+
+        /**
+         * Injects a node declared with an <code>fx:id</code>.
+         *
+         * @param fxId The <code>fx:id</code> of the node
+         * @param node The node built by the layout
+         */
+        void bind(String fxId, Object node);
+
+        /**
+         * Resolves an <code>onAction="#method"</code> declaration.
+         *
+         * @param method The controller method name, without the leading
+         * <code>#</code>
+         * @return The event handler to be registered on the node
+         */
+        EventHandler<ActionEvent> handler(String method);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.scene.Parent;
+
+/**
+ * Looks up the compiled layout generated for an FXML file. A missing or
+ * broken compiled layout is not an error; the dialog then falls back to
+ * loading the FXML file with <code>FXMLLoader</code>. That covers a layout
+ * class that cannot be instantiated as well as one that fails to build, in
+ * which case it is not used again until the layouts are cleared.
+ * <p>
+ * Compiled layouts can be turned off with the
+ * <code>simpledialogfx.compiledLayouts=false</code> system property.
+ *
+ * @author Ryan Gilera
+ */
+final class CompiledLayouts {
+
+    private static final String ENABLED_PROPERTY = "simpledialogfx.compiledLayouts";
+    private static final String LAYOUT_SUFFIX = "Layout";
+
+    // Marks paths without a compiled layout, so the lookup happens once
+    private static final CompiledLayout NONE = new CompiledLayout() {
+        @Override
+        public Parent build(CompiledLayout.Binder binder) {
+            return null;
+        }
+    };
+
+    private static final ConcurrentMap<String, CompiledLayout> LAYOUTS
+            = new ConcurrentHashMap<>();
+
+    private CompiledLayouts() {
+    }
+
+    /**
+     * Retrieves the compiled layout for an FXML resource path such as
+     * <code>/fxml/OkDialog.fxml</code>.
+     *
+     * @param path The FXML resource path
+     * @return The compiled layout, or null if the FXML file has to be loaded
+     * with <code>FXMLLoader</code>
+     */
+    static CompiledLayout forPath(String path) {
+        if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+            return null;
+        }
+
+        CompiledLayout layout = LAYOUTS.get(path);
+        if (layout == null) {
+            layout = lookup(path);
+            LAYOUTS.putIfAbsent(path, layout);
+        }
+
+        return layout == NONE ? null : layout;
+    }
+
+    /**
+     * Stops using the compiled layout of an FXML resource path, after it
+     * failed to build. The FXML file is loaded instead from then on.
+     *
+     * @param path The FXML resource path
+     */
+    static void disable(String path) {
+        LAYOUTS.put(path, NONE);
+    }
+
+    /**
+     * Forgets the layouts looked up so far. They are looked up again on next
+     * use.
+     */
+    static void clear() {
+        LAYOUTS.clear();
+    }
+
+    private static CompiledLayout lookup(String path) {
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        int extension = fileName.lastIndexOf('.');
+        if (extension > 0) {
+            fileName = fileName.substring(0, extension);
+        }
+
+        String packageName = CompiledLayouts.class.getName();
+        packageName = packageName.substring(0, packageName.lastIndexOf('.'));
+
+        String className = packageName + "." + fileName + LAYOUT_SUFFIX;
+        try {
+            return (CompiledLayout) Class.forName(className)
+                    .getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException ex) {
+            return NONE;
+        } catch (ReflectiveOperationException | ClassCastException ex) {
+            Logger.getLogger(CompiledLayouts.class.getName()).log(Level.WARNING,
+                    "Unable to use compiled layout " + className, ex);
+            return NONE;
+        }
+    }
+}
@@ -27,28 +27,59 @@ import com.github.daytron.simpledialogfx.data.DialogResponse;
 import com.github.daytron.simpledialogfx.data.DialogStyle;
 import com.github.daytron.simpledialogfx.data.DialogText;
 import com.github.daytron.simpledialogfx.data.HeaderColorStyle;
+import java.io.IOException;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
+import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Background;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
+import javafx.stage.Window;
 import javafx.stage.WindowEvent;
 
 /**
@@ -79,28 +110,137 @@ public class Dialog extends Stage implements Initializable {
     @FXML
     private Button noButton;
     @FXML
-    private TextArea exceptionArea;
+    private ListView<String> exceptionTraceView;
     @FXML
     private TextField inputTextField;
     @FXML
     private Button sendButton;
+    @FXML
+    private Label validationLabel;
+    @FXML
+    private TextArea inputTextArea;
+    @FXML
+    private Label inputSizeLabel;
+    @FXML
+    private ProgressBar progressBar;
+    @FXML
+    private Label progressMessageLabel;
+    @FXML
+    private TextField choiceFilterField;
+    @FXML
+    private ListView<String> choiceListView;
 
     // Top head label
-    private final String header;
+    private String header;
     // Details label
-    private final String details;
+    private String details;
     // Response chosen by the user
     private DialogResponse response;
 
-    private Scene scene;
-    private FXMLLoader fxmlLoader;
     private final DialogType dialogType;
     private final DialogStyle dialogStyle;
-    private final Exception exception;
+    private Exception exception;
 
     private String textEntry;
+    private List<String> choiceEntries;
     private HeaderColorStyle headerColorStyle;
     private boolean isLoadingError;
+    // Whether the scene graph is dropped once the dialog is closed
+    private boolean releaseOnClose;
+    private boolean isReleased;
+    // Layout of an INLINE dialog, which has no scene of its own
+    private Parent inlineRoot;
+    // Set while an INLINE dialog is mounted in its owner's scene
+    private DialogOverlay overlay;
+    // Response of the pending showAsync() call, if any
+    private CompletableFuture<DialogResponse> asyncResponse;
+    // Lifecycle timestamps from System.nanoTime(), 0 until reached
+    private long constructedAt;
+    private long shownAt;
+    // Progress reporting of a PROGRESS dialog, created on demand
+    private ProgressUpdater progressUpdater;
+    private Task<?> progressTask;
+    // Choices of a choice dialog and the filter narrowing them down
+    private List<String> choices;
+    private ChoiceFilter choiceFilter;
+    // Choices shown by the list, the whole list or the current matches
+    private List<String> visibleChoices;
+    // Positions in the whole list of the choices selected in a
+    // MULTIPLE_CHOICE dialog, kept while they are filtered out
+    private BitSet selectedChoices;
+    // Completions offered below the field of an input text dialog, if any
+    private InputSuggestions suggestions;
+    // Validators of the text of an input text dialog, if any
+    private InputValidation validation;
+    private Executor validationExecutor;
+    // Text area of a multi-line input dialog
+    private MultilineInput multilineInput;
+
+    // Component focused by default when the dialog is shown
+    private static final Map<DialogType, FocusTarget> FOCUS_TARGETS
+            = createFocusTargets();
+
+    // Window event handlers shared by all dialogs. They keep no state of
+    // their own and act on the dialog the event was fired on.
+    private static final EventHandler<WindowEvent> CLOSE_REQUEST_HANDLER
+            = new EventHandler<WindowEvent>() {
+                @Override
+                public void handle(WindowEvent event) {
+                    Dialog dialog = (Dialog) event.getSource();
+                    dialog.response = DialogResponse.CLOSE;
+                    DialogLifecycle.responded(dialog, DialogResponse.CLOSE,
+                            dialog.sinceShown());
+                }
+            };
+    private static final EventHandler<WindowEvent> SHOWN_HANDLER
+            = new EventHandler<WindowEvent>() {
+                @Override
+                public void handle(WindowEvent event) {
+                    Dialog dialog = (Dialog) event.getSource();
+                    dialog.shownAt = System.nanoTime();
+                    DialogLifecycle.shown(dialog,
+                            dialog.shownAt - dialog.constructedAt);
+                    dialog.requestDefaultFocus();
+                    dialog.resumeValidation();
+                }
+            };
+    private static final EventHandler<WindowEvent> HIDDEN_HANDLER
+            = new EventHandler<WindowEvent>() {
+                @Override
+                public void handle(WindowEvent event) {
+                    ((Dialog) event.getSource()).hidden();
+                }
+            };
+    private static final EventHandler<WindowEvent> INLINE_SHOWN_HANDLER
+            = new EventHandler<WindowEvent>() {
+                @Override
+                public void handle(WindowEvent event) {
+                    final Dialog dialog = (Dialog) event.getSource();
+                    // Closing from within the shown event would leave
+                    // showAndWait() without a nested loop to exit
+                    Platform.runLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            dialog.moveToOwner();
+                        }
+                    });
+                }
+            };
+    private static final EventHandler<WindowEvent> LOADING_ERROR_HANDLER
+            = new EventHandler<WindowEvent>() {
+                @Override
+                public void handle(WindowEvent event) {
+                    final Dialog dialog = (Dialog) event.getSource();
+                    // Closing from within the shown event would leave
+                    // showAndWait() without a nested loop to exit
+                    Platform.runLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            dialog.close();
+                        }
+                    });
+                }
+            };
 
     /**
      * Constructs a dialog with specified DialogType, header text and details
@@ -408,42 +548,72 @@ public class Dialog extends Stage implements Initializable {
     public Dialog(DialogType dialogType, DialogStyle dialogStyle,
             String title, String header, HeaderColorStyle headerColorStyle,
             String details, Exception exception) {
+        long start = System.nanoTime();
+        long loadNanos = 0;
         this.isLoadingError = false;
         setTitle(title);
 
         this.headerColorStyle = headerColorStyle;
         this.dialogType = dialogType;
-        this.exception = exception;
         this.dialogStyle = dialogStyle;
-
-        // Filter behaviour for exception dialog
-        if (dialogType == DialogType.EXCEPTION) {
-            if (this.exception != null) {
-                this.header = header;
-                this.details = this.exception.getClass().getName();
-            } else {
-                this.header = DialogText.NO_EXCEPTION_HEADER.getText();
-                this.details = DialogText.NO_EXCEPTION_DETAILS.getText();
-            }
-        } else {
-            this.header = header;
-            this.details = details;
-        }
+        setContent(header, details, exception);
 
         // Default value for the text field
         this.textEntry = "";
+        this.choiceEntries = Collections.emptyList();
 
         // Default dialog action response
         this.response = DialogResponse.NO_RESPONSE;
 
+        if (dialogStyle == DialogStyle.INLINE) {
+            // show() and showAndWait() are final, so the window they open is
+            // closed again and the dialog moved to its owner's scene
+            addEventHandler(WindowEvent.WINDOW_SHOWN, INLINE_SHOWN_HANDLER);
+        }
+
         try {
-            this.fxmlLoader = new FXMLLoader(getClass()
-                    .getResource(dialogType.getPath()));
-            this.fxmlLoader.setController(this);
+            // Use the layout compiled from FXML at build time when available,
+            // otherwise parse the FXML file
+            long loadStart = System.nanoTime();
+            Parent root = null;
+            CompiledLayout layout = CompiledLayouts.forPath(dialogType.getPath());
+            if (layout != null) {
+                try {
+                    root = layout.build(new LayoutBinder());
+                    initialize(getClass().getResource(dialogType.getPath()),
+                            null);
+                } catch (RuntimeException ex) {
+                    // The FXML file injects and initializes every node again
+                    Logger.getLogger(Dialog.class.getName()).log(Level.WARNING,
+                            "Unable to use the compiled layout of "
+                            + dialogType.getPath(), ex);
+                    CompiledLayouts.disable(dialogType.getPath());
+                    root = null;
+                }
+            }
 
-            this.scene = new Scene((Parent) fxmlLoader.load());
-            setScene(scene);
-            centerOnScreen();
+            if (root == null) {
+                // The loader and its namespace of every fx:id node are not
+                // kept once the layout is built
+                FXMLLoader fxmlLoader = new FXMLLoader(getClass()
+                        .getResource(dialogType.getPath()));
+                fxmlLoader.setController(this);
+                root = (Parent) fxmlLoader.load();
+            }
+            loadNanos = System.nanoTime() - loadStart;
+
+            if (dialogStyle == DialogStyle.INLINE) {
+                // Mounted in the owner's scene when shown. The window only
+                // gets an empty, invisible scene, for the moment it is open
+                // when show() or showAndWait() is called.
+                root.getStyleClass().add("inline-dialog");
+                this.inlineRoot = root;
+                setScene(new Scene(new Group()));
+                setOpacity(0);
+            } else {
+                setScene(new Scene(root));
+                centerOnScreen();
+            }
 
             if (dialogStyle == DialogStyle.UNDECORATED) {
                 //getScene().setFill(Color.TRANSPARENT);
@@ -454,23 +624,33 @@ public class Dialog extends Stage implements Initializable {
             setResizable(false);
 
             // Apply CLOSE action upon pressing x button
-            setOnCloseRequest(new EventHandler<WindowEvent>() {
+            setOnCloseRequest(CLOSE_REQUEST_HANDLER);
 
-                @Override
-                public void handle(WindowEvent event) {
-                    response = DialogResponse.CLOSE;
-                }
-            });
+            // Complete the pending showAsync() call once the window is gone,
+            // however it was closed. An INLINE dialog is closed with its
+            // overlay, not with a window.
+            if (dialogStyle != DialogStyle.INLINE) {
+                addEventHandler(WindowEvent.WINDOW_HIDDEN, HIDDEN_HANDLER);
+            }
         } catch (Exception ex) {
             this.isLoadingError = true;
             Logger.getLogger(Dialog.class.getName()).log(Level.SEVERE,
                     DialogText.CAUGHT_EXCEPTION_LOG_MSG.getText(), ex);
+
+            // Close the broken dialog as soon as it is shown, completing a
+            // pending showAsync() call with NO_RESPONSE
+            addEventHandler(WindowEvent.WINDOW_SHOWN, LOADING_ERROR_HANDLER);
+            addEventHandler(WindowEvent.WINDOW_HIDDEN, HIDDEN_HANDLER);
         }
 
+        this.constructedAt = System.nanoTime();
+        DialogLifecycle.constructed(this, loadNanos, this.constructedAt - start);
+
     }
 
     /**
-     * Initializes the dialog. Sets default focus to OK button. Wraps the text
+     * Initializes the dialog. Sets default focus to the dialog type's focus
+     * target when shown. Wraps the text
      * for details message label and apply the user-defined header and details.
      * Filter the behavior for the exception dialog for a null and non-null
      * exception object given. Applies corresponding header background css
@@ -483,115 +663,336 @@ public class Dialog extends Stage implements Initializable {
      */
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        // Add an event handler to automatically close the stage in the event of 
-        // any exception encountered.
-        addEventHandler(WindowEvent.ANY, new EventHandler<WindowEvent>() {
-            @Override
-            public void handle(WindowEvent window) {
-                Platform.runLater(new Runnable() {
-                    @Override
-                    public void run() {
-                        if (isLoadingError) {
-                            close();
-                        }
-                    }
-                });
-            }
-        });
-
-        // Set default focus to the appropriate UI component
-        Platform.runLater(
-                new Runnable() {
-                    @Override
-                    public void run() {
-                        switch (dialogType) {
-                            case INFORMATION:
-                                okButton.requestFocus();
-                                break;
-
-                            case CONFIRMATION:
-                                yesButton.requestFocus();
-                                break;
-
-                            case CONFIRMATION_ALT1:
-                                okButton.requestFocus();
-                                break;
-
-                            case CONFIRMATION_ALT2:
-                                yesButton.requestFocus();
-                                break;
-
-                            case WARNING:
-                                okButton.requestFocus();
-                                break;
-
-                            case ERROR:
-                                okButton.requestFocus();
-                                break;
-
-                            case EXCEPTION:
-                                okButton.requestFocus();
-                                break;
-
-                            case INPUT_TEXT:
-                                inputTextField.requestFocus();
-                                break;
-
-                            case GENERIC_OK:
-                                okButton.requestFocus();
-                                break;
-
-                            case GENERIC_OK_CANCEL:
-                                okButton.requestFocus();
-                                break;
-
-                            case GENERIC_YES_NO:
-                                yesButton.requestFocus();
-                                break;
-
-                            case GENERIC_YES_NO_CANCEL:
-                                yesButton.requestFocus();
-                                break;
-                        }
-
-                    }
-                }
-        );
+        // Set default focus to the appropriate UI component once shown. An
+        // INLINE dialog does it when mounted.
+        if (this.dialogStyle != DialogStyle.INLINE) {
+            addEventHandler(WindowEvent.WINDOW_SHOWN, SHOWN_HANDLER);
+        }
 
         this.detailsLabel.setWrapText(
                 true);
 
-        this.headerLabel.setText(getHeader());
+        // Filter whether it headless or not
+        if (this.dialogStyle == DialogStyle.HEADLESS) {
+            this.topBoxContainer.getChildren().remove(this.headContainer);
+            this.setHeadlessPadding();
+        }
 
-        this.detailsLabel.setText(getDetails());
+        if (this.choiceListView != null) {
+            this.initChoices();
+        }
+
+        if (this.inputTextArea != null) {
+            this.multilineInput = new MultilineInput(this.inputTextArea,
+                    this.inputSizeLabel);
+        }
+
+        this.applyContent();
+    }
+
+    /**
+     * Builds the table of default focus targets per dialog type.
+     *
+     * @return The focus target of each <code>DialogType</code>
+     */
+    private static Map<DialogType, FocusTarget> createFocusTargets() {
+        Map<DialogType, FocusTarget> targets = new EnumMap<>(DialogType.class);
+        for (DialogType type : DialogType.values()) {
+            targets.put(type, FocusTarget.OK_BUTTON);
+        }
+
+        targets.put(DialogType.CONFIRMATION, FocusTarget.YES_BUTTON);
+        targets.put(DialogType.CONFIRMATION_ALT2, FocusTarget.YES_BUTTON);
+        targets.put(DialogType.GENERIC_YES_NO, FocusTarget.YES_BUTTON);
+        targets.put(DialogType.GENERIC_YES_NO_CANCEL, FocusTarget.YES_BUTTON);
+        targets.put(DialogType.INPUT_TEXT, FocusTarget.TEXT_FIELD);
+        targets.put(DialogType.INPUT_MULTILINE, FocusTarget.TEXT_AREA);
+        targets.put(DialogType.PROGRESS, FocusTarget.CANCEL_BUTTON);
+        targets.put(DialogType.CHOICE, FocusTarget.CHOICE_FILTER);
+        targets.put(DialogType.MULTIPLE_CHOICE, FocusTarget.CHOICE_FILTER);
+        return targets;
+    }
+
+    /**
+     * Moves the focus to the default component of this dialog type.
+     */
+    void requestDefaultFocus() {
+        Node target;
+        switch (FOCUS_TARGETS.get(this.dialogType)) {
+            case YES_BUTTON:
+                target = this.yesButton;
+                break;
+            case TEXT_FIELD:
+                target = this.inputTextField;
+                break;
+            case TEXT_AREA:
+                target = this.inputTextArea;
+                break;
+            case CANCEL_BUTTON:
+                target = this.cancelButton;
+                break;
+            case CHOICE_FILTER:
+                target = this.choiceFilterField;
+                break;
+            default:
+                target = this.okButton;
+                break;
+        }
+
+        if (target != null) {
+            target.requestFocus();
+        }
+    }
+
+    /**
+     * Stores the header, details and exception to be displayed. Filters the
+     * behaviour for the exception dialog for a null and non-null exception
+     * object given.
+     *
+     * @param header The text for the colored header label
+     * @param details The text for the message details label
+     * @param exception An exception object to be displayed
+     */
+    private void setContent(String header, String details, Exception exception) {
+        this.exception = exception;
 
         // Filter behaviour for exception dialog
         if (dialogType == DialogType.EXCEPTION) {
-            this.exceptionArea.clear();
-
             if (this.exception != null) {
-                this.exceptionArea.appendText(
-                        Arrays.toString(this.exception.getStackTrace()));
+                this.header = header;
+                this.details = this.exception.getClass().getName();
             } else {
-                this.exceptionArea.appendText(
-                        DialogText.NO_EXCEPTION_TRACE.getText());
+                this.header = DialogText.NO_EXCEPTION_HEADER.getText();
+                this.details = DialogText.NO_EXCEPTION_DETAILS.getText();
             }
-
-            this.exceptionArea.setWrapText(true);
-            this.exceptionArea.setEditable(false);
+        } else {
+            this.header = header;
+            this.details = details;
         }
+    }
 
-        // Filter whether it headless or not
-        if (this.dialogStyle == DialogStyle.HEADLESS) {
-            this.topBoxContainer.getChildren().remove(this.headContainer);
-            this.setHeadlessPadding();
+    /**
+     * Applies the stored header, details, exception trace and header color
+     * style to the UI components.
+     */
+    private void applyContent() {
+        this.headerLabel.setText(getHeader());
+
+        this.detailsLabel.setText(getDetails());
+
+        // Filter behaviour for exception dialog. The trace lines are only
+        // formatted when their cells become visible.
+        if (dialogType == DialogType.EXCEPTION) {
+            if (this.exception != null) {
+                this.exceptionTraceView.setItems(
+                        new StackTraceLines(this.exception));
+            } else {
+                this.exceptionTraceView.setItems(new StackTraceLines(
+                        DialogText.NO_EXCEPTION_TRACE.getText()));
+            }
+            this.exceptionTraceView.scrollTo(0);
         }
 
-            // Apply Header CSS style color
+        // Apply Header CSS style color
         this.setHeaderColorStyle(
                 this.headerColorStyle);
     }
 
+    /**
+     * Prepares a closed dialog for reuse by a <code>DialogPool</code>. For
+     * every type, the response is set back to NO_RESPONSE, the text entry is
+     * cleared, release on close is turned off, font customizations are
+     * dropped and the new title, header, details, header color style and
+     * exception are applied. In addition:
+     * <ul>
+     * <li>INPUT_TEXT clears its text field and drops its suggestion
+     * provider, validators and validation executor</li>
+     * <li>INPUT_MULTILINE clears its text and restores the default input
+     * limits</li>
+     * <li>PROGRESS stops and drops its task and goes back to an
+     * indeterminate progress with no message</li>
+     * <li>CHOICE and MULTIPLE_CHOICE clear their choices and selection</li>
+     * <li>EXCEPTION shows the trace of the new exception, scrolled to the
+     * top</li>
+     * </ul>
+     *
+     * @param title The dialog window title
+     * @param header The text for the colored header label
+     * @param headerColorStyle The chosen color style for the header
+     * @param details The text for the message details label
+     * @param exception An exception object to be displayed
+     */
+    void reset(String title, String header, HeaderColorStyle headerColorStyle,
+            String details, Exception exception) {
+        setTitle(title);
+
+        this.response = DialogResponse.NO_RESPONSE;
+        this.asyncResponse = null;
+        this.releaseOnClose = false;
+        this.textEntry = "";
+        clearSuggestions();
+        clearValidation();
+        this.validationExecutor = null;
+        if (this.inputTextField != null) {
+            this.inputTextField.clear();
+        }
+        if (this.multilineInput != null) {
+            this.multilineInput.clear();
+            this.multilineInput.setLimits(MultilineInput.DEFAULT_WARNING_LENGTH,
+                    MultilineInput.DEFAULT_MAX_LENGTH);
+        }
+        // A worker still holding the previous updater must not reach the
+        // reused dialog
+        stopProgress();
+        this.progressUpdater = null;
+        this.progressTask = null;
+        applyProgress(ProgressBar.INDETERMINATE_PROGRESS, "");
+        this.choiceEntries = Collections.emptyList();
+        if (this.choiceListView != null) {
+            setChoices(Collections.<String>emptyList());
+        }
+
+        this.headerLabel.setStyle("");
+        this.detailsLabel.setStyle("");
+
+        this.headerColorStyle = headerColorStyle;
+        setContent(header, details, exception);
+        applyContent();
+
+        this.shownAt = 0;
+        this.constructedAt = System.nanoTime();
+        DialogLifecycle.constructed(this, 0, 0);
+    }
+
+    /**
+     * Tells whether the dialog failed to load its layout.
+     *
+     * @return true if the dialog could not be built
+     */
+    public final boolean isLoadingError() {
+        return this.isLoadingError;
+    }
+
+    /**
+     * Retrieves an immutable snapshot of the dialog's outcome. Unlike the
+     * dialog, the result holds no scene graph or exception, so it can be kept
+     * for as long as needed.
+     *
+     * @return The <code>DialogResult</code> of this dialog
+     */
+    public final DialogResult getResult() {
+        return new DialogResult(this.dialogType, getTitle(), this.header,
+                this.details, this.response, this.textEntry,
+                this.choiceEntries);
+    }
+
+    /**
+     * Releases the scene graph of a closed dialog. The scene, every UI
+     * component and the exception are dropped, so a dialog kept only for its
+     * response, text entry or result no longer retains them. The getters of
+     * the UI components and <code>getException()</code> return null
+     * afterwards, and the dialog can no longer be shown or pooled.
+     *
+     * @throws IllegalStateException if the dialog is showing
+     */
+    public final void release() {
+        if (isOpen()) {
+            throw new IllegalStateException(
+                    "A showing dialog cannot be released");
+        }
+        if (this.isReleased) {
+            return;
+        }
+        this.isReleased = true;
+
+        // The trace lines pin the exception and its whole cause chain
+        if (this.exceptionTraceView != null) {
+            this.exceptionTraceView.setItems(null);
+        }
+        if (this.choiceListView != null) {
+            this.choiceListView.setItems(null);
+        }
+        clearSuggestions();
+        clearValidation();
+        this.validationExecutor = null;
+        this.exception = null;
+        this.asyncResponse = null;
+        this.multilineInput = null;
+        this.choices = null;
+        this.choiceFilter = null;
+        this.visibleChoices = null;
+        this.selectedChoices = null;
+        setScene(null);
+        this.inlineRoot = null;
+
+        this.topBoxContainer = null;
+        this.headContainer = null;
+        this.bodyContainer = null;
+        this.headerLabel = null;
+        this.detailsLabel = null;
+        this.okParent = null;
+        this.okButton = null;
+        this.cancelButton = null;
+        this.yesButton = null;
+        this.noButton = null;
+        this.exceptionTraceView = null;
+        this.inputTextField = null;
+        this.sendButton = null;
+        this.validationLabel = null;
+        this.inputTextArea = null;
+        this.inputSizeLabel = null;
+        this.progressBar = null;
+        this.progressMessageLabel = null;
+        this.choiceFilterField = null;
+        this.choiceListView = null;
+    }
+
+    /**
+     * Tells whether the scene graph of the dialog has been released.
+     *
+     * @return true if the dialog has been released
+     */
+    public final boolean isReleased() {
+        return this.isReleased;
+    }
+
+    /**
+     * Sets whether the dialog is released as soon as it is closed, see
+     * {@link #release()}. Disabled by default.
+     *
+     * @param releaseOnClose true to release the dialog once closed
+     */
+    public final void setReleaseOnClose(boolean releaseOnClose) {
+        this.releaseOnClose = releaseOnClose;
+    }
+
+    /**
+     * Tells whether the dialog is released as soon as it is closed.
+     *
+     * @return true if the dialog is released once closed
+     */
+    public final boolean isReleaseOnClose() {
+        return this.releaseOnClose;
+    }
+
+    /**
+     * Retrieves the dialog type this dialog was built with.
+     *
+     * @return The <code>DialogType</code> of this dialog
+     */
+    public final DialogType getDialogType() {
+        return this.dialogType;
+    }
+
+    /**
+     * Retrieves the dialog style this dialog was built with.
+     *
+     * @return The <code>DialogStyle</code> of this dialog
+     */
+    public final DialogStyle getDialogStyle() {
+        return this.dialogStyle;
+    }
+
     /**
      * Sets the padding for a headless dialog
      */
@@ -611,16 +1012,21 @@ public class Dialog extends Stage implements Initializable {
 
     /**
      * Applies a predefined JavaFX CSS background color style for the header
-     * label
+     * label. The color's shared <code>Background</code> is set on the label
+     * directly, so no CSS is parsed; a custom color set before is removed.
      *
      * @param headerColorStyle A <code>HeaderColorStyle</code> option containing
      * a color scheme.
      */
     public final void setHeaderColorStyle(HeaderColorStyle headerColorStyle) {
+        if (this.headerColorStyle == HeaderColorStyle.CUSTOM
+                && headerColorStyle != HeaderColorStyle.CUSTOM) {
+            this.getHeaderLabel().setStyle("");
+        }
         this.headerColorStyle = headerColorStyle;
 
         if (!headerColorStyle.getColorStyle().isEmpty()) {
-            this.getHeaderLabel().setStyle(headerColorStyle.getColorStyle());
+            this.applyHeaderColor(headerColorStyle);
 
             // It's either DEFAULT or CUSTOM value (all empty values)
             // If it is DEFAULT, it sets the default style color
@@ -629,43 +1035,62 @@ public class Dialog extends Stage implements Initializable {
             // to manually set it via setCustomHeaderColorStyle(String colorStyle)
         } else {
             if (headerColorStyle == HeaderColorStyle.DEFAULT) {
-                switch (this.dialogType) {
-                    case INFORMATION:
-                        this.updateHeaderColorStyle(HeaderColorStyle.GLOSS_INFO);
-                        break;
-                    case ERROR:
-                        this.updateHeaderColorStyle(HeaderColorStyle.GLOSS_ERROR);
-                        break;
-                    case WARNING:
-                        this.updateHeaderColorStyle(HeaderColorStyle.GLOSS_WARNING);
-                        break;
-                    case CONFIRMATION:
-                        this.updateHeaderColorStyle(HeaderColorStyle.GLOSS_CONFIRM);
-                        break;
-                    case CONFIRMATION_ALT1:
-                        this.updateHeaderColorStyle(HeaderColorStyle.GLOSS_CONFIRM);
-                        break;
-                    case CONFIRMATION_ALT2:
-                        this.updateHeaderColorStyle(HeaderColorStyle.GLOSS_CONFIRM);
-                        break;
-                    case EXCEPTION:
-                        this.updateHeaderColorStyle(HeaderColorStyle.GLOSS_EXCEPTION);
-                        break;
-                    case INPUT_TEXT:
-                        this.updateHeaderColorStyle(HeaderColorStyle.GLOSS_INPUT);
-                        break;
-                    default:
-                        this.updateHeaderColorStyle(HeaderColorStyle.GENERIC);
-                        break;
-                }
+                this.updateHeaderColorStyle(
+                        defaultHeaderColorStyle(this.dialogType));
+            } else {
+                this.applyHeaderColor(headerColorStyle);
             }
         }
 
     }
 
+    /**
+     * Retrieves the header color style a dialog type uses by default.
+     *
+     * @param dialogType The dialog type
+     * @return The <code>HeaderColorStyle</code> applied for DEFAULT
+     */
+    static HeaderColorStyle defaultHeaderColorStyle(DialogType dialogType) {
+        switch (dialogType) {
+            case INFORMATION:
+                return HeaderColorStyle.GLOSS_INFO;
+            case ERROR:
+                return HeaderColorStyle.GLOSS_ERROR;
+            case WARNING:
+                return HeaderColorStyle.GLOSS_WARNING;
+            case CONFIRMATION:
+            case CONFIRMATION_ALT1:
+            case CONFIRMATION_ALT2:
+                return HeaderColorStyle.GLOSS_CONFIRM;
+            case EXCEPTION:
+                return HeaderColorStyle.GLOSS_EXCEPTION;
+            case INPUT_TEXT:
+            case INPUT_MULTILINE:
+            case CHOICE:
+            case MULTIPLE_CHOICE:
+                return HeaderColorStyle.GLOSS_INPUT;
+            case PROGRESS:
+                return HeaderColorStyle.GLOSS_INFO;
+            default:
+                return HeaderColorStyle.GENERIC;
+        }
+    }
+
     private void updateHeaderColorStyle(HeaderColorStyle headerColorStyle) {
         this.headerColorStyle = headerColorStyle;
-        this.getHeaderLabel().setStyle(headerColorStyle.getColorStyle());
+        this.applyHeaderColor(headerColorStyle);
+    }
+
+    /**
+     * Sets the header background of a color style. DEFAULT and CUSTOM fall
+     * back to the generic header background.
+     *
+     * @param headerColorStyle The color style to apply
+     */
+    private void applyHeaderColor(HeaderColorStyle headerColorStyle) {
+        Background background = headerColorStyle.getBackground();
+        this.getHeaderLabel().setBackground(background != null
+                ? background : HeaderColorStyle.GENERIC.getBackground());
     }
 
     /**
@@ -678,59 +1103,847 @@ public class Dialog extends Stage implements Initializable {
     }
 
     /**
-     * Retrieves the dialog's response.
+     * Shows the dialog without waiting for it to be closed. Unlike
+     * <code>showAndWait()</code>, no nested event loop is entered; the
+     * returned stage is completed on the FX thread with the user's response
+     * once the dialog window is closed, either through one of its buttons or
+     * the window's close button. Must be called on the FX Application Thread.
+     * <p>
+     * Calling this method again while the dialog is still showing returns the
+     * same pending stage.
+     * <p>
+     * An INLINE dialog is mounted in the scene of its owner window, set with
+     * <code>initOwner</code>, instead of being shown in a window of its own.
+     * The stage is completed exceptionally if it has no owner.
      *
-     * @return A DialogResponse object pass as an argument
+     * @return A <code>CompletionStage</code> completed with the dialog's
+     * response
+     * @throws IllegalStateException if the dialog has been released
      */
-    public final DialogResponse getResponse() {
-        return this.response;
+    public final CompletionStage<DialogResponse> showAsync() {
+        if (this.isReleased) {
+            throw new IllegalStateException("A released dialog cannot be shown");
+        }
+        if (this.asyncResponse == null || this.asyncResponse.isDone()) {
+            this.asyncResponse = new CompletableFuture<>();
+        }
+
+        CompletableFuture<DialogResponse> pending = this.asyncResponse;
+        if (!isOpen()) {
+            try {
+                if (this.dialogStyle == DialogStyle.INLINE) {
+                    Window owner = getOwner();
+                    if (owner == null || owner.getScene() == null) {
+                        throw new IllegalStateException(
+                                "An INLINE dialog needs an owner with a scene");
+                    }
+                    mount(owner.getScene());
+                } else {
+                    show();
+                }
+            } catch (RuntimeException ex) {
+                this.asyncResponse = null;
+                pending.completeExceptionally(ex);
+            }
+        }
+
+        return pending;
     }
 
     /**
-     * Retrieves the message details text.
+     * Shows an INLINE dialog as a modal overlay inside a scene, without
+     * waiting for it to be closed. The scene is dimmed behind the dialog, the
+     * focus is kept inside it, and the escape key closes it with the CLOSE
+     * response. No native window is created. Must be called on the FX
+     * Application Thread.
      *
-     * @return A <code>String</code> object pertaining to the message details
+     * @param scene The scene to show the dialog in
+     * @return A <code>CompletionStage</code> completed with the dialog's
+     * response
+     * @throws IllegalStateException if the dialog is not an INLINE dialog, is
+     * already showing or has been released
      */
-    public final String getDetails() {
-        return this.details;
+    public final CompletionStage<DialogResponse> showInline(Scene scene) {
+        if (this.dialogStyle != DialogStyle.INLINE) {
+            throw new IllegalStateException(
+                    "Only INLINE dialogs can be shown in a scene");
+        }
+        if (this.isReleased || isOpen()) {
+            throw new IllegalStateException(
+                    "The dialog is showing or has been released");
+        }
+
+        CompletableFuture<DialogResponse> pending = new CompletableFuture<>();
+        this.asyncResponse = pending;
+        try {
+            mount(scene);
+        } catch (RuntimeException ex) {
+            this.asyncResponse = null;
+            pending.completeExceptionally(ex);
+        }
+        return pending;
     }
 
     /**
-     * Retrieves the header text.
+     * Mounts an INLINE dialog in a scene and reports it as shown.
      *
-     * @return A <code>String</code> object pertaining to the header
+     * @param scene The scene to show the dialog in
      */
-    public final String getHeader() {
-        return this.header;
+    private void mount(Scene scene) {
+        if (this.inlineRoot == null) {
+            throw new IllegalStateException("The dialog failed to load");
+        }
+
+        this.overlay = DialogOverlay.mount(this, this.inlineRoot, scene);
+        this.shownAt = System.nanoTime();
+        DialogLifecycle.shown(this, this.shownAt - this.constructedAt);
+        requestDefaultFocus();
+        resumeValidation();
     }
 
     /**
-     * Retrieves the header's JavaFX CSS background color style
-     *
-     * @return A <code>HeaderColorStyle</code> option containing a color scheme.
+     * Closes the window opened by <code>show()</code> or
+     * <code>showAndWait()</code> for an INLINE dialog and mounts the dialog
+     * in the scene of its owner instead, as <code>showAsync()</code> does. A
+     * warning is logged when there is no owner with a scene to mount it in.
      */
-    public final HeaderColorStyle getHeaderColorStyle() {
-        return this.headerColorStyle;
+    private void moveToOwner() {
+        hide();
+        if (this.isReleased || this.isLoadingError || isOpen()) {
+            return;
+        }
+
+        Window owner = getOwner();
+        if (owner == null || owner.getScene() == null) {
+            Logger.getLogger(Dialog.class.getName()).log(Level.WARNING,
+                    "An INLINE dialog needs an owner with a scene; show it "
+                    + "with showAsync() or showInline()");
+            return;
+        }
+        mount(owner.getScene());
     }
 
     /**
-     * Applies custom JavaFX CSS background color style on header label.
-     * Improper JavaFX CSS declaration will result to nothing.
-     *
-     * @param colorStyle A JavaFX CSS style declaration in <code>String</code>
-     * format.
+     * Closes the dialog with the CLOSE response, the same way the close
+     * button of a window does. Used for INLINE dialogs dismissed with the
+     * escape key and for dialogs closed through the management bean.
      */
-    public final void setCustomHeaderColorStyle(String colorStyle) {
-        this.headerColorStyle = HeaderColorStyle.CUSTOM;
-        this.getHeaderLabel().setStyle(colorStyle);
+    void dismiss() {
+        respond(DialogResponse.CLOSE);
     }
 
     /**
-     * Sets both font sizes in pixels for the header and the details label with
-     * a single font size <code>integer</code> parameter given.
+     * Tells whether the dialog is showing, in its own window or as an overlay.
      *
-     * @param font_size Font size in pixels for both header and details labels
-     * in pixels
+     * @return true if the dialog is open
+     */
+    boolean isOpen() {
+        return isShowing() || this.overlay != null;
+    }
+
+    /**
+     * Reports the dialog as closed and completes the pending
+     * <code>showAsync()</code> stage, once its window is hidden or its
+     * overlay is unmounted. This is the only place the stage is completed,
+     * and it is completed last, so a callback that shows the dialog again
+     * finds it fully closed and its new stage is left alone.
+     */
+    private void hidden() {
+        stopProgress();
+        if (this.suggestions != null) {
+            this.suggestions.cancel();
+        }
+        if (this.validation != null) {
+            this.validation.cancel();
+        }
+        DialogLifecycle.closed(this, sinceShown());
+        this.shownAt = 0;
+
+        CompletableFuture<DialogResponse> pending = this.asyncResponse;
+        this.asyncResponse = null;
+        if (this.releaseOnClose) {
+            release();
+        }
+        if (pending != null) {
+            pending.complete(this.response);
+        }
+    }
+
+    /**
+     * Shows an input text dialog without waiting for it to be closed. The
+     * returned stage is completed with the entered text when the user presses
+     * the send button, or with <code>null</code> when the dialog is closed
+     * without sending. Must be called on the FX Application Thread.
+     *
+     * @return A <code>CompletionStage</code> completed with the entered text
+     * @throws IllegalStateException if the dialog is not an input text dialog
+     */
+    public final CompletionStage<String> showTextInputAsync() {
+        if (this.dialogType != DialogType.INPUT_TEXT) {
+            throw new IllegalStateException(
+                    "Text input is only available on INPUT_TEXT dialogs");
+        }
+
+        return showAsync().thenApply(
+                new Function<DialogResponse, String>() {
+
+                    @Override
+                    public String apply(DialogResponse response) {
+                        return response == DialogResponse.SEND
+                                ? textEntry : null;
+                    }
+                });
+    }
+
+    /**
+     * Offers completions below the text field of an input text dialog, looked
+     * up on the FX Application Thread on every keystroke. The provider must
+     * be fast, like a <code>PrefixIndex</code>. Must be called on the FX
+     * Application Thread.
+     *
+     * @param provider The provider of the completions, or null to remove it
+     * @throws IllegalStateException if the dialog is not an input text dialog
+     */
+    public final void setSuggestionProvider(SuggestionProvider provider) {
+        setSuggestionProvider(provider, null);
+    }
+
+    /**
+     * Offers completions below the text field of an input text dialog, looked
+     * up on an executor once typing pauses. A lookup still running when the
+     * user types again is cancelled and its completions are dropped, so slow
+     * providers never hold up the dialog. Must be called on the FX
+     * Application Thread.
+     *
+     * @param provider The provider of the completions, or null to remove it
+     * @param executor The executor running the lookups, or null to look them
+     * up on the FX Application Thread
+     * @throws IllegalStateException if the dialog is not an input text dialog
+     */
+    public final void setSuggestionProvider(SuggestionProvider provider,
+            Executor executor) {
+        if (this.dialogType != DialogType.INPUT_TEXT) {
+            throw new IllegalStateException(
+                    "Suggestions are only available on INPUT_TEXT dialogs");
+        }
+
+        clearSuggestions();
+        if (provider != null && this.inputTextField != null) {
+            this.suggestions = new InputSuggestions(this.inputTextField,
+                    provider, executor);
+            this.suggestions.attach();
+        }
+    }
+
+    private void clearSuggestions() {
+        if (this.suggestions != null) {
+            this.suggestions.detach();
+            this.suggestions = null;
+        }
+    }
+
+    /**
+     * Writes the text of a multi-line input dialog to a writer. The text is
+     * copied out of the text area a chunk at a time, so no
+     * <code>String</code> of the whole text is ever created. The writer is
+     * neither flushed nor closed. Must be called on the FX Application
+     * Thread, or on any thread once the dialog is closed.
+     *
+     * @param writer The writer to write the text to
+     * @throws IOException if the writer fails
+     * @throws IllegalStateException if the dialog is not a multi-line input
+     * dialog or has been released
+     */
+    public final void writeTextEntry(Writer writer) throws IOException {
+        requireMultilineInput().write(writer);
+    }
+
+    /**
+     * Writes the text of a multi-line input dialog to a file in UTF-8, a
+     * chunk at a time. The file is created or replaced.
+     *
+     * @param path The file to write the text to
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if the dialog is not a multi-line input
+     * dialog or has been released
+     */
+    public final void writeTextEntry(Path path) throws IOException {
+        MultilineInput input = requireMultilineInput();
+        try (Writer writer = Files.newBufferedWriter(path,
+                StandardCharsets.UTF_8)) {
+            input.write(writer);
+        }
+    }
+
+    /**
+     * Retrieves the length of the text of a multi-line input dialog.
+     *
+     * @return The number of characters entered
+     * @throws IllegalStateException if the dialog is not a multi-line input
+     * dialog or has been released
+     */
+    public final int getTextEntryLength() {
+        return requireMultilineInput().length();
+    }
+
+    /**
+     * Sets the size limits of a multi-line input dialog. A warning with the
+     * current length is shown below the text area past the warning length,
+     * and input going over the maximum length is cut to fit. By default the
+     * warning starts at 1,048,576 characters and the maximum is 8,388,608.
+     *
+     * @param warningLength The length past which the warning is shown
+     * @param maxLength The maximum length of the input
+     * @throws IllegalStateException if the dialog is not a multi-line input
+     * dialog or has been released
+     */
+    public final void setInputLimits(int warningLength, int maxLength) {
+        if (warningLength < 0 || maxLength < 1) {
+            throw new IllegalArgumentException("Invalid input limits");
+        }
+        requireMultilineInput().setLimits(warningLength, maxLength);
+    }
+
+    private MultilineInput requireMultilineInput() {
+        if (this.dialogType != DialogType.INPUT_MULTILINE) {
+            throw new IllegalStateException(
+                    "Only available on INPUT_MULTILINE dialogs");
+        }
+        if (this.multilineInput == null) {
+            throw new IllegalStateException(
+                    "The dialog failed to load or has been released");
+        }
+        return this.multilineInput;
+    }
+
+    /**
+     * Adds a validator to the text of an input text dialog. Validators run on
+     * a background executor once typing pauses, and the send button stays
+     * disabled until the current text passes all of them. A validation
+     * superseded by a later keystroke is cancelled. The message of a failed
+     * validation is shown below the text field. Must be called on the FX
+     * Application Thread.
+     *
+     * @param validator The validator to be added
+     * @throws IllegalStateException if the dialog is not an input text dialog
+     */
+    public final void addInputValidator(InputValidator validator) {
+        if (this.dialogType != DialogType.INPUT_TEXT) {
+            throw new IllegalStateException(
+                    "Validation is only available on INPUT_TEXT dialogs");
+        }
+        if (validator == null) {
+            throw new IllegalArgumentException("validator must not be null");
+        }
+        if (this.inputTextField == null) {
+            return;
+        }
+
+        if (this.validation == null) {
+            this.validation = new InputValidation(this.inputTextField,
+                    this.sendButton, this.validationLabel);
+            this.validation.setExecutor(this.validationExecutor);
+            this.validation.attach();
+        }
+        this.validation.addValidator(validator);
+    }
+
+    /**
+     * Removes a validator from an input text dialog. The send button is
+     * enabled again once the last validator is removed.
+     *
+     * @param validator The validator to be removed
+     */
+    public final void removeInputValidator(InputValidator validator) {
+        if (this.validation != null
+                && this.validation.removeValidator(validator)
+                && this.validation.isEmpty()) {
+            clearValidation();
+        }
+    }
+
+    /**
+     * Sets the executor running the validators of an input text dialog. By
+     * default they run on a shared pool of daemon threads.
+     *
+     * @param executor The executor running the validations, or null for the
+     * default one
+     */
+    public final void setValidationExecutor(Executor executor) {
+        this.validationExecutor = executor;
+        if (this.validation != null) {
+            this.validation.setExecutor(executor);
+        }
+    }
+
+    /**
+     * Validates the text again once the dialog is shown, if a validation was
+     * cancelled by closing it.
+     */
+    private void resumeValidation() {
+        if (this.validation != null) {
+            this.validation.resume();
+        }
+    }
+
+    private void clearValidation() {
+        if (this.validation != null) {
+            this.validation.detach();
+            this.validation = null;
+        }
+    }
+
+    /**
+     * Sets the items of a choice dialog. The list is copied, so it can be as
+     * large as needed: only the visible rows are rendered, and typing in the
+     * filter field narrows down the previous matches instead of searching
+     * the whole list again. Must be called on the FX Application Thread.
+     *
+     * @param choices The items to choose from
+     * @throws IllegalStateException if the dialog is not a choice dialog
+     */
+    public final void setChoices(List<String> choices) {
+        if (!isChoiceDialog()) {
+            throw new IllegalStateException(
+                    "Choices are only available on choice dialogs");
+        }
+        if (choices == null) {
+            throw new IllegalArgumentException("choices must not be null");
+        }
+        if (this.choiceListView == null) {
+            return;
+        }
+
+        this.choices = Collections.unmodifiableList(new ArrayList<>(choices));
+        this.choiceFilter = new ChoiceFilter(this.choices);
+        this.selectedChoices = new BitSet();
+        this.visibleChoices = null;
+
+        // Clearing the field filters the new choices if it held a query
+        if (this.choiceFilterField.getText().isEmpty()) {
+            showChoices(null);
+        } else {
+            this.choiceFilterField.clear();
+        }
+    }
+
+    /**
+     * Retrieves the choices selected in a choice dialog once it is closed
+     * with the OK response, in list order. <code>getTextEntry()</code>
+     * returns the first of them. Returns an empty list if nothing was chosen
+     * or the dialog created is not a choice dialog.
+     *
+     * @return The unmodifiable list of selected choices
+     */
+    public final List<String> getChoiceEntries() {
+        return this.choiceEntries;
+    }
+
+    /**
+     * Shows a choice dialog without waiting for it to be closed. The returned
+     * stage is completed with the selected choices when the user presses the
+     * OK button, or with <code>null</code> when the dialog is closed
+     * otherwise. Must be called on the FX Application Thread.
+     *
+     * @return A <code>CompletionStage</code> completed with the selected
+     * choices
+     * @throws IllegalStateException if the dialog is not a choice dialog
+     */
+    public final CompletionStage<List<String>> showChoiceAsync() {
+        if (!isChoiceDialog()) {
+            throw new IllegalStateException(
+                    "Choices are only available on choice dialogs");
+        }
+
+        return showAsync().thenApply(
+                new Function<DialogResponse, List<String>>() {
+
+                    @Override
+                    public List<String> apply(DialogResponse response) {
+                        return response == DialogResponse.OK
+                                ? choiceEntries : null;
+                    }
+                });
+    }
+
+    private boolean isChoiceDialog() {
+        return this.dialogType == DialogType.CHOICE
+                || this.dialogType == DialogType.MULTIPLE_CHOICE;
+    }
+
+    /**
+     * Wires the filter field and the list of a choice dialog.
+     */
+    private void initChoices() {
+        final boolean multiple = this.dialogType == DialogType.MULTIPLE_CHOICE;
+        this.choiceListView.getSelectionModel().setSelectionMode(multiple
+                ? SelectionMode.MULTIPLE : SelectionMode.SINGLE);
+        this.okButton.setDisable(true);
+
+        this.choiceFilterField.textProperty().addListener(
+                new InvalidationListener() {
+                    @Override
+                    public void invalidated(Observable observable) {
+                        filterChoices();
+                    }
+                });
+
+        this.choiceListView.getSelectionModel().getSelectedIndices()
+                .addListener(new ListChangeListener<Integer>() {
+                    @Override
+                    public void onChanged(
+                            ListChangeListener.Change<? extends Integer> change) {
+                        updateChoiceButton();
+                    }
+                });
+
+        // Down moves from the filter field to the matches
+        this.choiceFilterField.addEventHandler(KeyEvent.KEY_PRESSED,
+                new EventHandler<KeyEvent>() {
+                    @Override
+                    public void handle(KeyEvent event) {
+                        if (event.getCode() == KeyCode.DOWN
+                                && !choiceListView.getItems().isEmpty()) {
+                            choiceListView.requestFocus();
+                            if (choiceListView.getSelectionModel().isEmpty()) {
+                                choiceListView.getSelectionModel().select(0);
+                            }
+                            event.consume();
+                        }
+                    }
+                });
+
+        // A double click picks the choice of a single choice dialog
+        if (!multiple) {
+            this.choiceListView.setOnMouseClicked(
+                    new EventHandler<MouseEvent>() {
+                        @Override
+                        public void handle(MouseEvent event) {
+                            if (event.getClickCount() == 2
+                                    && !choiceListView.getSelectionModel()
+                                    .isEmpty()) {
+                                ok_btn_on_click(null);
+                            }
+                        }
+                    });
+        }
+
+        setChoices(Collections.<String>emptyList());
+    }
+
+    /**
+     * Shows the choices matching the filter field.
+     */
+    private void filterChoices() {
+        if (this.choiceFilter == null) {
+            return;
+        }
+
+        storeSelectedChoices();
+        showChoices(this.choiceFilter.filter(this.choiceFilterField.getText()));
+    }
+
+    /**
+     * Shows a set of matches, selecting back the choices of a
+     * MULTIPLE_CHOICE dialog selected before, or the first match of a
+     * filtered CHOICE dialog.
+     *
+     * @param matches The matches returned by the filter, or null for all
+     */
+    private void showChoices(int[] matches) {
+        this.visibleChoices = this.choiceFilter.view(matches);
+        this.choiceListView.setItems(
+                FXCollections.observableList(this.visibleChoices));
+
+        if (this.dialogType == DialogType.MULTIPLE_CHOICE) {
+            if (!this.selectedChoices.isEmpty()) {
+                int[] selected = new int[this.visibleChoices.size()];
+                int count = 0;
+                for (int i = 0; i < selected.length; i++) {
+                    if (this.selectedChoices.get(sourceIndex(i))) {
+                        selected[count++] = i;
+                    }
+                }
+                if (count > 0) {
+                    this.choiceListView.getSelectionModel().selectIndices(
+                            selected[0], Arrays.copyOfRange(selected, 1, count));
+                }
+            }
+        } else if (matches != null && matches.length > 0) {
+            this.choiceListView.getSelectionModel().select(0);
+        }
+
+        if (!this.visibleChoices.isEmpty()) {
+            this.choiceListView.scrollTo(0);
+        }
+        updateChoiceButton();
+    }
+
+    /**
+     * Records the selection of the visible choices of a MULTIPLE_CHOICE
+     * dialog before they are filtered again.
+     */
+    private void storeSelectedChoices() {
+        if (this.dialogType != DialogType.MULTIPLE_CHOICE
+                || this.visibleChoices == null) {
+            return;
+        }
+
+        if (this.visibleChoices == this.choices) {
+            this.selectedChoices.clear(0, this.choices.size());
+        } else {
+            for (int i = 0; i < this.visibleChoices.size(); i++) {
+                this.selectedChoices.clear(sourceIndex(i));
+            }
+        }
+        for (Integer index : this.choiceListView.getSelectionModel()
+                .getSelectedIndices()) {
+            this.selectedChoices.set(sourceIndex(index));
+        }
+    }
+
+    /**
+     * Collects the selected choices once the OK button is pressed.
+     */
+    private void collectChoiceEntries() {
+        List<String> entries = new ArrayList<>();
+        if (this.dialogType == DialogType.MULTIPLE_CHOICE) {
+            storeSelectedChoices();
+            for (int i = this.selectedChoices.nextSetBit(0); i >= 0;
+                    i = this.selectedChoices.nextSetBit(i + 1)) {
+                entries.add(this.choices.get(i));
+            }
+        } else {
+            String selected = this.choiceListView.getSelectionModel()
+                    .getSelectedItem();
+            if (selected != null) {
+                entries.add(selected);
+            }
+        }
+
+        this.choiceEntries = Collections.unmodifiableList(entries);
+        this.textEntry = entries.isEmpty() ? "" : entries.get(0);
+    }
+
+    /**
+     * Enables the OK button of a choice dialog once something is selected.
+     */
+    private void updateChoiceButton() {
+        boolean nothingSelected = this.choiceListView.getSelectionModel()
+                .isEmpty() && (this.selectedChoices == null
+                || this.selectedChoices.isEmpty());
+        this.okButton.setDisable(nothingSelected);
+    }
+
+    private int sourceIndex(int index) {
+        return this.visibleChoices instanceof ChoiceFilter.Matches
+                ? ((ChoiceFilter.Matches) this.visibleChoices).sourceIndex(index)
+                : index;
+    }
+
+    /**
+     * Retrieves the updater reporting progress to this PROGRESS dialog. The
+     * updater can be handed to a worker running on any thread; it closes the
+     * dialog with the OK response once <code>complete()</code> is called.
+     *
+     * @return The <code>ProgressUpdater</code> of this dialog
+     * @throws IllegalStateException if the dialog is not a progress dialog
+     */
+    public final ProgressUpdater getProgressUpdater() {
+        if (this.dialogType != DialogType.PROGRESS) {
+            throw new IllegalStateException(
+                    "Progress is only available on PROGRESS dialogs");
+        }
+        if (this.progressUpdater == null) {
+            this.progressUpdater = new ProgressUpdater(this);
+        }
+        return this.progressUpdater;
+    }
+
+    /**
+     * Binds this PROGRESS dialog to a task. The progress and message of the
+     * task are shown in the dialog, at most once per pulse. The dialog is
+     * closed with OK when the task succeeds, CANCEL when it is cancelled and
+     * NO_RESPONSE when it fails. Closing the dialog cancels the task. Must be
+     * called on the FX Application Thread.
+     *
+     * @param task The task whose progress is displayed
+     * @throws IllegalStateException if the dialog is not a progress dialog
+     */
+    public final void bindProgress(final Task<?> task) {
+        if (task == null) {
+            throw new IllegalArgumentException("task must not be null");
+        }
+        final ProgressUpdater updater = getProgressUpdater();
+        this.progressTask = task;
+
+        task.progressProperty().addListener(new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                updater.updateProgress(task.getProgress());
+            }
+        });
+        task.messageProperty().addListener(new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                updater.updateMessage(task.getMessage());
+            }
+        });
+        task.stateProperty().addListener(new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                finishTask(updater, task.getState());
+            }
+        });
+
+        updater.updateProgress(task.getProgress());
+        updater.updateMessage(task.getMessage());
+        finishTask(updater, task.getState());
+    }
+
+    private static void finishTask(ProgressUpdater updater, Worker.State state) {
+        switch (state) {
+            case SUCCEEDED:
+                updater.finish(DialogResponse.OK);
+                break;
+            case CANCELLED:
+                updater.finish(DialogResponse.CANCEL);
+                break;
+            case FAILED:
+                updater.finish(DialogResponse.NO_RESPONSE);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Shows the latest progress and message. Called by the
+     * <code>ProgressUpdater</code> once per pulse at most.
+     *
+     * @param progress The progress of the work
+     * @param message The message describing the current step
+     */
+    void applyProgress(double progress, String message) {
+        if (this.progressBar != null) {
+            this.progressBar.setProgress(progress);
+        }
+        if (this.progressMessageLabel != null) {
+            this.progressMessageLabel.setText(message);
+        }
+    }
+
+    /**
+     * Closes a PROGRESS dialog once its work has ended, or only records the
+     * response if it is not showing.
+     *
+     * @param response The response of the dialog
+     */
+    void finishProgress(DialogResponse response) {
+        if (isOpen()) {
+            respond(response);
+        } else {
+            setResponse(response);
+        }
+    }
+
+    /**
+     * Cancels the work of a PROGRESS dialog that has not completed yet.
+     */
+    private void stopProgress() {
+        if (this.progressUpdater != null) {
+            this.progressUpdater.cancel();
+            if (this.progressTask != null && this.progressUpdater.isCancelled()) {
+                this.progressTask.cancel();
+            }
+        }
+    }
+
+    /**
+     * Retrieves the time since the dialog was shown.
+     *
+     * @return The nanoseconds since the dialog was shown, or 0 if it is not
+     * showing
+     */
+    private long sinceShown() {
+        return this.shownAt == 0 ? 0 : System.nanoTime() - this.shownAt;
+    }
+
+    /**
+     * Sets the response and closes the dialog window or unmounts its overlay.
+     * The pending <code>showAsync()</code> stage is completed by
+     * <code>hidden()</code>.
+     *
+     * @param response The response chosen by the user
+     */
+    private void respond(DialogResponse response) {
+        setResponse(response);
+        DialogLifecycle.responded(this, response, sinceShown());
+        if (this.overlay != null) {
+            DialogOverlay mounted = this.overlay;
+            this.overlay = null;
+            mounted.unmount();
+            hidden();
+        } else {
+            close();
+        }
+    }
+
+    /**
+     * Retrieves the dialog's response.
+     *
+     * @return A DialogResponse object pass as an argument
+     */
+    public final DialogResponse getResponse() {
+        return this.response;
+    }
+
+    /**
+     * Retrieves the message details text.
+     *
+     * @return A <code>String</code> object pertaining to the message details
+     */
+    public final String getDetails() {
+        return this.details;
+    }
+
+    /**
+     * Retrieves the header text.
+     *
+     * @return A <code>String</code> object pertaining to the header
+     */
+    public final String getHeader() {
+        return this.header;
+    }
+
+    /**
+     * Retrieves the header's JavaFX CSS background color style
+     *
+     * @return A <code>HeaderColorStyle</code> option containing a color scheme.
+     */
+    public final HeaderColorStyle getHeaderColorStyle() {
+        return this.headerColorStyle;
+    }
+
+    /**
+     * Applies custom JavaFX CSS background color style on header label.
+     * Improper JavaFX CSS declaration will result to nothing.
+     *
+     * @param colorStyle A JavaFX CSS style declaration in <code>String</code>
+     * format.
+     */
+    public final void setCustomHeaderColorStyle(String colorStyle) {
+        this.headerColorStyle = HeaderColorStyle.CUSTOM;
+        this.applyHeaderColor(HeaderColorStyle.CUSTOM);
+        this.getHeaderLabel().setStyle(colorStyle);
+    }
+
+    /**
+     * Sets both font sizes in pixels for the header and the details label with
+     * a single font size <code>integer</code> parameter given.
+     *
+     * @param font_size Font size in pixels for both header and details labels
+     * in pixels
      */
     public void setFontSize(int font_size) {
         setFontSize(font_size, font_size);
@@ -894,13 +2107,45 @@ public class Dialog extends Stage implements Initializable {
     }
 
     /**
-     * Retrieves the <code>TextArea</code> object for the exception area. Allows
-     * user to customize FX <code>TextArea</code> object.
+     * Retrieves the exception trace as text in a read-only
+     * <code>TextArea</code>. The trace is now displayed in a virtualized
+     * list, so each call builds a new text area that is not part of the
+     * dialog: changing it has no effect on the dialog. Returns null if the
+     * dialog created is not an exception dialog.
      *
-     * @return TextArea object
+     * @return A new <code>TextArea</code> holding the exception trace
+     * @deprecated Use {@link #getExceptionTraceView()} to customize the trace
+     * shown by the dialog
      */
+    @Deprecated
     public final TextArea getExceptionArea() {
-        return exceptionArea;
+        if (this.exceptionTraceView == null) {
+            return null;
+        }
+
+        StringBuilder trace = new StringBuilder();
+        List<String> lines = this.exceptionTraceView.getItems();
+        if (lines != null) {
+            for (String line : lines) {
+                trace.append(line).append('\n');
+            }
+        }
+
+        TextArea area = new TextArea(trace.toString());
+        area.setEditable(false);
+        return area;
+    }
+
+    /**
+     * Retrieves the <code>ListView</code> object displaying the exception
+     * trace, one line per stack frame. Allows user to customize FX
+     * <code>ListView</code> object. Returns null if the dialog created is not
+     * an exception dialog.
+     *
+     * @return The <code>ListView</code> object
+     */
+    public final ListView<String> getExceptionTraceView() {
+        return exceptionTraceView;
     }
 
     /**
@@ -917,7 +2162,8 @@ public class Dialog extends Stage implements Initializable {
      * Retrieves user input text from the Input Text Dialog, if no text is given
      * or a different dialog is used, then return string value is empty as the
      * default value. Returns an empty <code>String</code> if the dialog created
-     * is not an input dialog.
+     * is not an input dialog. The text of a multi-line input dialog is not
+     * returned here, see <code>writeTextEntry</code>.
      *
      * @return The string input text entered from the Input Text Dialog
      */
@@ -936,6 +2182,47 @@ public class Dialog extends Stage implements Initializable {
         return inputTextField;
     }
 
+    /**
+     * Retrieves the <code>TextArea</code> object of a multi-line input dialog.
+     * Returns null if the dialog created is not a multi-line input dialog.
+     *
+     * @return The <code>TextArea</code> object
+     */
+    public final TextArea getTextArea() {
+        return inputTextArea;
+    }
+
+    /**
+     * Retrieves the filter <code>TextField</code> object of a choice dialog.
+     * Returns null if the dialog created is not a choice dialog.
+     *
+     * @return The <code>TextField</code> object
+     */
+    public final TextField getChoiceFilterField() {
+        return choiceFilterField;
+    }
+
+    /**
+     * Retrieves the <code>ListView</code> object of a choice dialog, showing
+     * the choices matching the filter. Returns null if the dialog created is
+     * not a choice dialog.
+     *
+     * @return The <code>ListView</code> object
+     */
+    public final ListView<String> getChoiceListView() {
+        return choiceListView;
+    }
+
+    /**
+     * Retrieves the <code>ProgressBar</code> object of a progress dialog.
+     * Returns null if the dialog created is not a progress dialog.
+     *
+     * @return The <code>ProgressBar</code> object
+     */
+    public final ProgressBar getProgressBar() {
+        return progressBar;
+    }
+
     /**
      * Event handler when yesButton is pressed. Sets response to YES and closes
      * the dialog window.
@@ -944,8 +2231,7 @@ public class Dialog extends Stage implements Initializable {
      */
     @FXML
     private void yes_btn_on_click(ActionEvent event) {
-        setResponse(DialogResponse.YES);
-        close();
+        respond(DialogResponse.YES);
     }
 
     /**
@@ -956,20 +2242,22 @@ public class Dialog extends Stage implements Initializable {
      */
     @FXML
     private void no_btn_on_click(ActionEvent event) {
-        setResponse(DialogResponse.NO);
-        close();
+        respond(DialogResponse.NO);
     }
 
     /**
-     * Event handler when okButton is pressed. Sets response to OK and closes
-     * the dialog window.
+     * Event handler when okButton is pressed. Sets response to OK, collects
+     * the selected choices of a choice dialog and closes the dialog window.
      *
      * @param event Action event object
      */
     @FXML
     private void ok_btn_on_click(ActionEvent event) {
-        setResponse(DialogResponse.OK);
-        close();
+        if (isChoiceDialog()) {
+            collectChoiceEntries();
+        }
+
+        respond(DialogResponse.OK);
     }
 
     /**
@@ -980,25 +2268,162 @@ public class Dialog extends Stage implements Initializable {
      */
     @FXML
     private void cancel_btn_on_click(ActionEvent event) {
-        setResponse(DialogResponse.CANCEL);
-        close();
+        respond(DialogResponse.CANCEL);
     }
 
     /**
-     * Event handler when sendButton is pressed. Sets response to SEND and
-     * closes the dialog window.
+     * Event handler when sendButton is pressed. Unless the text has not passed
+     * the validators yet, sets response to SEND and closes the dialog window.
      *
      * @param event Action event object
      */
     @FXML
     private void send_btn_on_click(ActionEvent event) {
+        // The text must pass the validators, if any
+        if (this.validation != null && !this.validation.isPassed()) {
+            return;
+        }
+
         // Future proof for other uses of send event handler
         if (this.dialogType == DialogType.INPUT_TEXT) {
             this.textEntry = this.inputTextField.getText();
         }
 
-        setResponse(DialogResponse.SEND);
-        close();
+        respond(DialogResponse.SEND);
+    }
+
+    /**
+     * UI components that can receive the default focus.
+     */
+    private enum FocusTarget {
+
+        OK_BUTTON,
+        YES_BUTTON,
+        TEXT_FIELD,
+        TEXT_AREA,
+        CANCEL_BUTTON,
+        CHOICE_FILTER
+    }
+
+    /**
+     * Injects the nodes and event handlers of a compiled layout, the same way
+     * <code>FXMLLoader</code> does for the <code>@FXML</code> members.
+     */
+    private final class LayoutBinder implements CompiledLayout.Binder {
+
+        @Override
+        public void bind(String fxId, Object node) {
+            switch (fxId) {
+                case "topBoxContainer":
+                    topBoxContainer = (VBox) node;
+                    break;
+                case "headContainer":
+                    headContainer = (StackPane) node;
+                    break;
+                case "bodyContainer":
+                    bodyContainer = (StackPane) node;
+                    break;
+                case "headerLabel":
+                    headerLabel = (Label) node;
+                    break;
+                case "detailsLabel":
+                    detailsLabel = (Label) node;
+                    break;
+                case "okParent":
+                    okParent = (HBox) node;
+                    break;
+                case "okButton":
+                    okButton = (Button) node;
+                    break;
+                case "cancelButton":
+                    cancelButton = (Button) node;
+                    break;
+                case "yesButton":
+                    yesButton = (Button) node;
+                    break;
+                case "noButton":
+                    noButton = (Button) node;
+                    break;
+                case "exceptionTraceView":
+                    exceptionTraceView = castListView(node);
+                    break;
+                case "inputTextField":
+                    inputTextField = (TextField) node;
+                    break;
+                case "sendButton":
+                    sendButton = (Button) node;
+                    break;
+                case "validationLabel":
+                    validationLabel = (Label) node;
+                    break;
+                case "inputTextArea":
+                    inputTextArea = (TextArea) node;
+                    break;
+                case "inputSizeLabel":
+                    inputSizeLabel = (Label) node;
+                    break;
+                case "progressBar":
+                    progressBar = (ProgressBar) node;
+                    break;
+                case "progressMessageLabel":
+                    progressMessageLabel = (Label) node;
+                    break;
+                case "choiceFilterField":
+                    choiceFilterField = (TextField) node;
+                    break;
+                case "choiceListView":
+                    choiceListView = castListView(node);
+                    break;
+                default:
+                    // Nodes without a matching field are not injected
+                    break;
+            }
+        }
+
+        @Override
+        public EventHandler<ActionEvent> handler(final String method) {
+            switch (method) {
+                case "yes_btn_on_click":
+                case "no_btn_on_click":
+                case "ok_btn_on_click":
+                case "cancel_btn_on_click":
+                case "send_btn_on_click":
+                    return new EventHandler<ActionEvent>() {
+                        @Override
+                        public void handle(ActionEvent event) {
+                            dispatch(method, event);
+                        }
+                    };
+                default:
+                    throw new IllegalArgumentException(
+                            "Unknown event handler: " + method);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private ListView<String> castListView(Object node) {
+            return (ListView<String>) node;
+        }
+
+        private void dispatch(String method, ActionEvent event) {
+            switch (method) {
+                case "yes_btn_on_click":
+                    yes_btn_on_click(event);
+                    break;
+                case "no_btn_on_click":
+                    no_btn_on_click(event);
+                    break;
+                case "ok_btn_on_click":
+                    ok_btn_on_click(event);
+                    break;
+                case "cancel_btn_on_click":
+                    cancel_btn_on_click(event);
+                    break;
+                default:
+                    send_btn_on_click(event);
+                    break;
+            }
+        }
     }
 
 }
@@ -0,0 +1,167 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+import java.util.Arrays;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry of the <code>DialogLifecycleListener</code>s notified by every
+ * dialog.
+ * <p>
+ * Listeners found by <code>ServiceLoader</code> are registered when the class
+ * is first used. With no listener registered, a lifecycle event costs a
+ * single array length check. A listener throwing an exception is logged and
+ * never affects the dialog.
+ *
+ * @author Ryan Gilera
+ */
+public final class DialogLifecycle {
+
+    private static final DialogLifecycleListener[] NONE
+            = new DialogLifecycleListener[0];
+
+    // Replaced on every change, so notifying needs no lock
+    private static volatile DialogLifecycleListener[] listeners = loadListeners();
+
+    private DialogLifecycle() {
+    }
+
+    /**
+     * Registers a listener notified of the lifecycle of every dialog.
+     *
+     * @param listener The listener to add
+     */
+    public static synchronized void addListener(DialogLifecycleListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener must not be null");
+        }
+
+        DialogLifecycleListener[] current = listeners;
+        DialogLifecycleListener[] updated
+                = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Removes a listener added before, including one found by
+     * <code>ServiceLoader</code>.
+     *
+     * @param listener The listener to remove
+     * @return true if the listener was registered
+     */
+    public static synchronized boolean removeListener(
+            DialogLifecycleListener listener) {
+        DialogLifecycleListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                DialogLifecycleListener[] updated
+                        = new DialogLifecycleListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i,
+                        current.length - i - 1);
+                listeners = updated;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether any listener is registered.
+     *
+     * @return true if lifecycle events are delivered anywhere
+     */
+    public static boolean isActive() {
+        return listeners.length > 0;
+    }
+
+    static void constructed(Dialog dialog, long loadNanos, long constructNanos) {
+        for (DialogLifecycleListener listener : listeners) {
+            try {
+                listener.dialogConstructed(dialog, loadNanos, constructNanos);
+            } catch (RuntimeException ex) {
+                failed(listener, ex);
+            }
+        }
+    }
+
+    static void shown(Dialog dialog, long sinceConstructedNanos) {
+        for (DialogLifecycleListener listener : listeners) {
+            try {
+                listener.dialogShown(dialog, sinceConstructedNanos);
+            } catch (RuntimeException ex) {
+                failed(listener, ex);
+            }
+        }
+    }
+
+    static void responded(Dialog dialog, DialogResponse response,
+            long sinceShownNanos) {
+        for (DialogLifecycleListener listener : listeners) {
+            try {
+                listener.dialogResponded(dialog, response, sinceShownNanos);
+            } catch (RuntimeException ex) {
+                failed(listener, ex);
+            }
+        }
+    }
+
+    static void closed(Dialog dialog, long sinceShownNanos) {
+        for (DialogLifecycleListener listener : listeners) {
+            try {
+                listener.dialogClosed(dialog, sinceShownNanos);
+            } catch (RuntimeException ex) {
+                failed(listener, ex);
+            }
+        }
+    }
+
+    private static void failed(DialogLifecycleListener listener,
+            RuntimeException ex) {
+        Logger.getLogger(DialogLifecycle.class.getName()).log(Level.WARNING,
+                "Dialog lifecycle listener " + listener.getClass().getName()
+                + " failed", ex);
+    }
+
+    private static DialogLifecycleListener[] loadListeners() {
+        DialogLifecycleListener[] found = NONE;
+        try {
+            for (DialogLifecycleListener listener
+                    : ServiceLoader.load(DialogLifecycleListener.class)) {
+                found = Arrays.copyOf(found, found.length + 1);
+                found[found.length - 1] = listener;
+            }
+        } catch (ServiceConfigurationError ex) {
+            Logger.getLogger(DialogLifecycle.class.getName()).log(Level.WARNING,
+                    "Unable to load dialog lifecycle listeners", ex);
+        }
+        return found;
+    }
+}
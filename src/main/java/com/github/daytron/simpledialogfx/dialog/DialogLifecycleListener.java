@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+
+/**
+ * Receives the lifecycle events of every dialog, for tracing and metrics.
+ * <p>
+ * Listeners are registered with <code>DialogLifecycle.addListener</code>, or
+ * discovered with <code>java.util.ServiceLoader</code> from
+ * <code>META-INF/services</code>. All methods are called on the FX
+ * Application Thread and must return quickly. Durations are in nanoseconds.
+ *
+ * @author Ryan Gilera
+ */
+public interface DialogLifecycleListener {
+
+    /**
+     * Called at the end of the dialog constructor, or when a pooled dialog is
+     * reset for reuse.
+     *
+     * @param dialog The dialog built
+     * @param loadNanos Time spent building the scene graph from the compiled
+     * layout or the FXML file
+     * @param constructNanos Total time spent in the constructor
+     */
+    void dialogConstructed(Dialog dialog, long loadNanos, long constructNanos);
+
+    /**
+     * Called when the dialog window has been shown.
+     *
+     * @param dialog The dialog shown
+     * @param sinceConstructedNanos Time from construction to being shown
+     */
+    void dialogShown(Dialog dialog, long sinceConstructedNanos);
+
+    /**
+     * Called when the user responds, through one of the buttons or the close
+     * button of the window.
+     *
+     * @param dialog The dialog responded to
+     * @param response The response chosen
+     * @param sinceShownNanos Time from being shown to the response
+     */
+    void dialogResponded(Dialog dialog, DialogResponse response,
+            long sinceShownNanos);
+
+    /**
+     * Called when the dialog window has been hidden.
+     *
+     * @param dialog The dialog closed
+     * @param sinceShownNanos Time the dialog was showing
+     */
+    void dialogClosed(Dialog dialog, long sinceShownNanos);
+}
@@ -0,0 +1,244 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogPhase;
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+import java.util.Arrays;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.animation.AnimationTimer;
+
+/**
+ * Records latency histograms of the dialog lifecycle per
+ * <code>DialogType</code> and <code>DialogPhase</code>.
+ * <p>
+ * Register an instance with <code>DialogLifecycle.addListener</code> to start
+ * recording. Histograms can be read from any thread, and every recorded
+ * latency is also passed on to the <code>DialogMetricsListener</code>s.
+ * Once warmed up, recording allocates nothing: histograms are created on
+ * first use and the dialogs waiting for their first pulse are kept in
+ * reused arrays.
+ *
+ * @author Ryan Gilera
+ */
+public final class DialogMetrics implements DialogLifecycleListener {
+
+    private static final int PHASES = DialogPhase.values().length;
+
+    // Created on first use, so unused dialog types cost nothing
+    private final AtomicReferenceArray<LatencyHistogram> histograms;
+    private volatile DialogMetricsListener[] listeners;
+
+    // Dialogs shown since the last pulse, only accessed on the FX thread
+    private DialogType[] pulseTypes;
+    private long[] pulseShownAt;
+    private int pulsePending;
+    private AnimationTimer pulseTimer;
+
+    /**
+     * Constructs empty metrics, with the <code>DialogMetricsListener</code>s
+     * found by <code>ServiceLoader</code>.
+     */
+    public DialogMetrics() {
+        this.histograms = new AtomicReferenceArray<>(
+                DialogType.values().length * PHASES);
+        this.listeners = loadListeners();
+
+        this.pulseTypes = new DialogType[8];
+        this.pulseShownAt = new long[8];
+        this.pulsePending = 0;
+    }
+
+    /**
+     * Retrieves the histogram of a dialog type and phase.
+     *
+     * @param dialogType The dialog type
+     * @param phase The lifecycle phase
+     * @return The live histogram, updated as dialogs are used
+     */
+    public LatencyHistogram getHistogram(DialogType dialogType,
+            DialogPhase phase) {
+        int index = dialogType.ordinal() * PHASES + phase.ordinal();
+
+        LatencyHistogram histogram = this.histograms.get(index);
+        if (histogram == null) {
+            this.histograms.compareAndSet(index, null, new LatencyHistogram());
+            histogram = this.histograms.get(index);
+        }
+        return histogram;
+    }
+
+    /**
+     * Clears all histograms.
+     */
+    public void reset() {
+        for (int i = 0; i < this.histograms.length(); i++) {
+            LatencyHistogram histogram = this.histograms.get(i);
+            if (histogram != null) {
+                histogram.reset();
+            }
+        }
+    }
+
+    /**
+     * Adds a listener receiving every recorded latency.
+     *
+     * @param listener The listener to add
+     */
+    public synchronized void addListener(DialogMetricsListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener must not be null");
+        }
+
+        DialogMetricsListener[] current = this.listeners;
+        DialogMetricsListener[] updated
+                = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        this.listeners = updated;
+    }
+
+    /**
+     * Removes a listener added before.
+     *
+     * @param listener The listener to remove
+     * @return true if the listener was registered
+     */
+    public synchronized boolean removeListener(DialogMetricsListener listener) {
+        DialogMetricsListener[] current = this.listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                DialogMetricsListener[] updated
+                        = new DialogMetricsListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i,
+                        current.length - i - 1);
+                this.listeners = updated;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void dialogConstructed(Dialog dialog, long loadNanos,
+            long constructNanos) {
+        // Covered by the lifecycle listeners tracing construction
+    }
+
+    @Override
+    public void dialogShown(Dialog dialog, long sinceConstructedNanos) {
+        record(dialog.getDialogType(), DialogPhase.CONSTRUCTED_TO_SHOWN,
+                sinceConstructedNanos);
+        awaitPulse(dialog.getDialogType(), System.nanoTime());
+    }
+
+    @Override
+    public void dialogResponded(Dialog dialog, DialogResponse response,
+            long sinceShownNanos) {
+        // Responses given without showing the dialog have no latency
+        if (sinceShownNanos > 0) {
+            record(dialog.getDialogType(), DialogPhase.SHOWN_TO_RESPONSE,
+                    sinceShownNanos);
+        }
+    }
+
+    @Override
+    public void dialogClosed(Dialog dialog, long sinceShownNanos) {
+        // Nothing is measured on close
+    }
+
+    private void record(DialogType dialogType, DialogPhase phase, long nanos) {
+        getHistogram(dialogType, phase).record(nanos);
+
+        for (DialogMetricsListener listener : this.listeners) {
+            try {
+                listener.latencyRecorded(dialogType, phase, nanos);
+            } catch (RuntimeException ex) {
+                Logger.getLogger(DialogMetrics.class.getName()).log(
+                        Level.WARNING, "Dialog metrics listener "
+                        + listener.getClass().getName() + " failed", ex);
+            }
+        }
+    }
+
+    /**
+     * Remembers a dialog just shown until the next pulse, when its
+     * SHOWN_TO_FIRST_PULSE latency is recorded. All dialogs shown between
+     * two pulses share the one timer.
+     */
+    private void awaitPulse(DialogType dialogType, long shownAt) {
+        if (this.pulsePending == this.pulseTypes.length) {
+            this.pulseTypes = Arrays.copyOf(this.pulseTypes,
+                    this.pulsePending * 2);
+            this.pulseShownAt = Arrays.copyOf(this.pulseShownAt,
+                    this.pulsePending * 2);
+        }
+        this.pulseTypes[this.pulsePending] = dialogType;
+        this.pulseShownAt[this.pulsePending] = shownAt;
+        this.pulsePending++;
+
+        if (this.pulseTimer == null) {
+            this.pulseTimer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    pulse();
+                }
+            };
+        }
+        this.pulseTimer.start();
+    }
+
+    private void pulse() {
+        this.pulseTimer.stop();
+
+        long now = System.nanoTime();
+        int pending = this.pulsePending;
+        this.pulsePending = 0;
+
+        for (int i = 0; i < pending; i++) {
+            record(this.pulseTypes[i], DialogPhase.SHOWN_TO_FIRST_PULSE,
+                    now - this.pulseShownAt[i]);
+            this.pulseTypes[i] = null;
+        }
+    }
+
+    private static DialogMetricsListener[] loadListeners() {
+        DialogMetricsListener[] found = new DialogMetricsListener[0];
+        try {
+            for (DialogMetricsListener listener
+                    : ServiceLoader.load(DialogMetricsListener.class)) {
+                found = Arrays.copyOf(found, found.length + 1);
+                found[found.length - 1] = listener;
+            }
+        } catch (ServiceConfigurationError ex) {
+            Logger.getLogger(DialogMetrics.class.getName()).log(Level.WARNING,
+                    "Unable to load dialog metrics listeners", ex);
+        }
+        return found;
+    }
+}
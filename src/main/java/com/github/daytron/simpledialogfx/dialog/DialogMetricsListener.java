@@ -0,0 +1,50 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogPhase;
+
+/**
+ * Receives every latency recorded by <code>DialogMetrics</code>, to bridge
+ * them to an application's own metrics stack.
+ * <p>
+ * Listeners are added with <code>DialogMetrics.addListener</code>, or
+ * discovered with <code>java.util.ServiceLoader</code> from
+ * <code>META-INF/services</code> when a <code>DialogMetrics</code> is
+ * constructed. They are called on the FX Application Thread and must return
+ * quickly.
+ *
+ * @author Ryan Gilera
+ */
+public interface DialogMetricsListener {
+
+    /**
+     * Called after a latency has been recorded.
+     *
+     * @param dialogType The type of the dialog measured
+     * @param phase The lifecycle phase measured
+     * @param nanos The latency in nanoseconds
+     */
+    void latencyRecorded(DialogType dialogType, DialogPhase phase, long nanos);
+}
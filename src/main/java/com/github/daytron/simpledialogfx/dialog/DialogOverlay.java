@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.util.List;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.event.EventHandler;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+
+/**
+ * Mounts the content of an INLINE dialog as a modal overlay inside an
+ * existing scene.
+ * <p>
+ * The scene's root is wrapped in a host <code>StackPane</code> the first
+ * time a dialog is mounted, and put back once the last dialog is unmounted.
+ * Each dialog adds a glass pane, which dims the scene and takes the mouse
+ * events, and its content centered above it. While a dialog is the topmost
+ * one, the focus is kept inside its content and the escape key dismisses
+ * it.
+ *
+ * @author Ryan Gilera
+ */
+final class DialogOverlay {
+
+    // Marks the host StackPane and holds the scene's original root
+    private static final String HOST_KEY = DialogOverlay.class.getName();
+
+    private static final Background GLASS_BACKGROUND = new Background(
+            new BackgroundFill(Color.rgb(0, 0, 0, 0.3), CornerRadii.EMPTY,
+                    Insets.EMPTY));
+
+    private final Dialog dialog;
+    private final Parent content;
+    private final Scene scene;
+    private final StackPane host;
+    private final Region glass;
+    private final ChangeListener<Node> focusTrap;
+    private final EventHandler<KeyEvent> escapeHandler;
+    // Focus owner before the dialog was mounted, restored afterwards
+    private final Node previousFocus;
+
+    private DialogOverlay(Dialog dialog, Parent content, Scene scene,
+            StackPane host) {
+        this.dialog = dialog;
+        this.content = content;
+        this.scene = scene;
+        this.host = host;
+        this.previousFocus = scene.getFocusOwner();
+
+        this.glass = new Region();
+        this.glass.setBackground(GLASS_BACKGROUND);
+
+        this.focusTrap = new ChangeListener<Node>() {
+            @Override
+            public void changed(ObservableValue<? extends Node> observable,
+                    Node oldOwner, Node newOwner) {
+                if (newOwner != null && isTopmost() && !contains(newOwner)) {
+                    DialogOverlay.this.dialog.requestDefaultFocus();
+                }
+            }
+        };
+
+        this.escapeHandler = new EventHandler<KeyEvent>() {
+            @Override
+            public void handle(KeyEvent event) {
+                if (event.getCode() == KeyCode.ESCAPE) {
+                    event.consume();
+                    DialogOverlay.this.dialog.dismiss();
+                }
+            }
+        };
+    }
+
+    /**
+     * Mounts the content of a dialog above everything else in the scene.
+     *
+     * @param dialog The dialog being shown
+     * @param content The root of the dialog's layout
+     * @param scene The scene to show the dialog in
+     * @return The mounted overlay
+     */
+    static DialogOverlay mount(Dialog dialog, Parent content, Scene scene) {
+        StackPane host = hostOf(scene);
+        DialogOverlay overlay = new DialogOverlay(dialog, content, scene, host);
+
+        if (content instanceof Region) {
+            ((Region) content).setMaxSize(Region.USE_PREF_SIZE,
+                    Region.USE_PREF_SIZE);
+        }
+        host.getChildren().addAll(overlay.glass, content);
+
+        scene.focusOwnerProperty().addListener(overlay.focusTrap);
+        content.addEventHandler(KeyEvent.KEY_PRESSED, overlay.escapeHandler);
+        return overlay;
+    }
+
+    /**
+     * Removes the dialog from the scene, putting the scene's original root
+     * back when no other dialog is mounted.
+     */
+    void unmount() {
+        this.scene.focusOwnerProperty().removeListener(this.focusTrap);
+        this.content.removeEventHandler(KeyEvent.KEY_PRESSED,
+                this.escapeHandler);
+
+        List<Node> children = this.host.getChildren();
+        children.remove(this.content);
+        children.remove(this.glass);
+
+        if (children.size() == 1 && this.scene.getRoot() == this.host) {
+            Parent original = (Parent) this.host.getProperties()
+                    .remove(HOST_KEY);
+            children.clear();
+            this.scene.setRoot(original);
+        }
+
+        if (this.previousFocus != null
+                && this.previousFocus.getScene() == this.scene) {
+            this.previousFocus.requestFocus();
+        }
+    }
+
+    /**
+     * Retrieves the host of the scene's overlays, wrapping the scene's root
+     * into a new one if needed.
+     */
+    private static StackPane hostOf(Scene scene) {
+        Parent root = scene.getRoot();
+        if (root instanceof StackPane
+                && root.getProperties().containsKey(HOST_KEY)) {
+            return (StackPane) root;
+        }
+
+        StackPane host = new StackPane();
+        host.getProperties().put(HOST_KEY, root);
+        scene.setRoot(host);
+        host.getChildren().add(root);
+        return host;
+    }
+
+    private boolean isTopmost() {
+        List<Node> children = this.host.getChildren();
+        return !children.isEmpty()
+                && children.get(children.size() - 1) == this.content;
+    }
+
+    private boolean contains(Node node) {
+        for (Node n = node; n != null; n = n.getParent()) {
+            if (n == this.content) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
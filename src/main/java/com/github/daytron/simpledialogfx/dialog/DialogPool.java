@@ -0,0 +1,315 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogStyle;
+import com.github.daytron.simpledialogfx.data.DialogText;
+import com.github.daytron.simpledialogfx.data.HeaderColorStyle;
+import java.lang.ref.SoftReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.stage.Modality;
+import javafx.stage.StageStyle;
+
+/**
+ * A bounded pool of closed dialogs, keyed by <code>DialogType</code> and
+ * <code>DialogStyle</code>. Reusing a dialog skips building a new native
+ * window, scene graph and controller for every message.
+ * <p>
+ * Acquired dialogs are reset before they are handed out: the response is back
+ * to NO_RESPONSE, release on close is turned off, the header, details and
+ * exception are rebound, the text field is cleared and the exception trace is
+ * replaced. Dialogs are returned with {@link #release(Dialog)} once their
+ * response has been read.
+ * <p>
+ * A reused dialog may already have been shown, so <code>initOwner</code>,
+ * <code>initModality</code> and <code>initStyle</code> throw an
+ * <code>IllegalStateException</code> on it. Dialogs that need any of them
+ * should be built directly rather than acquired; a dialog given one of them
+ * is not taken back by {@link #release(Dialog)}. Other changes made to the
+ * Stage, such as event handlers or a position, are kept across uses.
+ * <p>
+ * Idle dialogs are held through soft references, so the garbage collector may
+ * reclaim them under memory pressure. When the pool is full, the least
+ * recently released dialog is evicted.
+ * <p>
+ * Like the dialogs themselves, the pool must be used on the JavaFX Application
+ * Thread. The counters can be read from any thread.
+ *
+ * @author Ryan Gilera
+ */
+public final class DialogPool {
+
+    /**
+     * Default maximum number of idle dialogs kept by a pool
+     */
+    public static final int DEFAULT_MAX_IDLE = 16;
+
+    private final int maxIdle;
+    // Idle dialogs, least recently released first
+    private final Deque<Entry> idle;
+
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+
+    /**
+     * Constructs a pool holding at most <code>DEFAULT_MAX_IDLE</code> idle
+     * dialogs.
+     */
+    public DialogPool() {
+        this(DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * Constructs a pool with the specified maximum number of idle dialogs.
+     *
+     * @param maxIdle The maximum number of idle dialogs kept across all dialog
+     * types and styles
+     */
+    public DialogPool(int maxIdle) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("maxIdle must not be negative");
+        }
+
+        this.maxIdle = maxIdle;
+        this.idle = new ArrayDeque<>();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+    }
+
+    /**
+     * Acquires a dialog with specified DialogType, header text and details
+     * text, using the NATIVE style, an empty title and the DEFAULT header
+     * color style.
+     *
+     * @param dialogType The dialog type to be created
+     * @param header The text for the colored header label
+     * @param details The text for the message details label
+     * @return A reset dialog, either reused or newly built
+     */
+    public Dialog acquire(DialogType dialogType, String header, String details) {
+        return acquire(dialogType, DialogStyle.NATIVE, "", header,
+                HeaderColorStyle.DEFAULT, details, null);
+    }
+
+    /**
+     * Acquires a dialog with specified DialogType, DialogStyle, header text
+     * and details text, using an empty title and the DEFAULT header color
+     * style.
+     *
+     * @param dialogType The dialog type to be created
+     * @param dialogStyle The dialog style to be created
+     * @param header The text for the colored header label
+     * @param details The text for the message details label
+     * @return A reset dialog, either reused or newly built
+     */
+    public Dialog acquire(DialogType dialogType, DialogStyle dialogStyle,
+            String header, String details) {
+        return acquire(dialogType, dialogStyle, "", header,
+                HeaderColorStyle.DEFAULT, details, null);
+    }
+
+    /**
+     * Acquires an exception dialog for the specified Exception object, using
+     * the NATIVE style and an empty title.
+     *
+     * @param exception An exception object to be displayed
+     * @return A reset dialog, either reused or newly built
+     */
+    public Dialog acquire(Exception exception) {
+        return acquire(DialogType.EXCEPTION, DialogStyle.NATIVE, "",
+                DialogText.EXCEPTION_HEADER.getText(), HeaderColorStyle.DEFAULT,
+                exception == null ? null : exception.getClass().getName(),
+                exception);
+    }
+
+    /**
+     * Acquires a dialog using all possible parameters. See the matching
+     * <code>Dialog</code> constructor for the meaning of each parameter.
+     *
+     * @param dialogType The type of dialog to build
+     * @param dialogStyle The dialog style to be created
+     * @param title The dialog window title
+     * @param header The text for the colored header label
+     * @param headerColorStyle The chosen color style for the header
+     * @param details The text for the message details label
+     * @param exception An exception object to be displayed
+     * @return A reset dialog, either reused or newly built
+     */
+    public Dialog acquire(DialogType dialogType, DialogStyle dialogStyle,
+            String title, String header, HeaderColorStyle headerColorStyle,
+            String details, Exception exception) {
+        Dialog dialog = take(dialogType, dialogStyle);
+
+        if (dialog != null) {
+            this.hits.incrementAndGet();
+            dialog.reset(title, header, headerColorStyle, details, exception);
+            return dialog;
+        }
+
+        this.misses.incrementAndGet();
+        return new Dialog(dialogType, dialogStyle, title, header,
+                headerColorStyle, details, exception);
+    }
+
+    /**
+     * Returns a dialog to the pool. Dialogs that are still showing, that
+     * failed to load or that have been released are not pooled. Neither are
+     * dialogs given an owner, a modality or a stage style of their own, as
+     * these cannot be changed back once the window has been shown.
+     *
+     * @param dialog The dialog to be reused later
+     */
+    public void release(Dialog dialog) {
+        if (dialog == null || dialog.isOpen() || dialog.isLoadingError()
+                || dialog.isReleased() || !hasDefaultStage(dialog)
+                || this.maxIdle == 0) {
+            return;
+        }
+
+        for (Entry entry : this.idle) {
+            if (entry.reference.get() == dialog) {
+                return;
+            }
+        }
+
+        this.idle.addLast(new Entry(dialog));
+
+        while (this.idle.size() > this.maxIdle) {
+            this.idle.removeFirst();
+            this.evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes all idle dialogs from the pool.
+     */
+    public void clear() {
+        this.evictions.addAndGet(this.idle.size());
+        this.idle.clear();
+    }
+
+    /**
+     * Retrieves the number of idle dialogs currently held by the pool,
+     * including the ones already reclaimed by the garbage collector but not
+     * yet purged.
+     *
+     * @return The number of idle dialogs
+     */
+    public int size() {
+        return this.idle.size();
+    }
+
+    /**
+     * Retrieves the maximum number of idle dialogs kept by the pool.
+     *
+     * @return The maximum number of idle dialogs
+     */
+    public int getMaxIdle() {
+        return this.maxIdle;
+    }
+
+    /**
+     * Retrieves the number of acquisitions served by a pooled dialog.
+     *
+     * @return The hit count
+     */
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    /**
+     * Retrieves the number of acquisitions that had to build a new dialog.
+     *
+     * @return The miss count
+     */
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    /**
+     * Retrieves the number of idle dialogs dropped, either because the pool
+     * was full, it was cleared or the garbage collector reclaimed them.
+     *
+     * @return The eviction count
+     */
+    public long getEvictionCount() {
+        return this.evictions.get();
+    }
+
+    /**
+     * Takes the most recently released dialog matching the given type and
+     * style, purging reclaimed entries on the way.
+     */
+    private Dialog take(DialogType dialogType, DialogStyle dialogStyle) {
+        Iterator<Entry> iterator = this.idle.descendingIterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            Dialog dialog = entry.reference.get();
+
+            if (dialog == null) {
+                iterator.remove();
+                this.evictions.incrementAndGet();
+            } else if (entry.dialogType == dialogType
+                    && entry.dialogStyle == dialogStyle) {
+                iterator.remove();
+                return dialog;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether the window of the dialog still has the owner, modality
+     * and stage style it was built with.
+     */
+    private static boolean hasDefaultStage(Dialog dialog) {
+        StageStyle stageStyle
+                = dialog.getDialogStyle() == DialogStyle.UNDECORATED
+                ? StageStyle.UNDECORATED : StageStyle.DECORATED;
+        return dialog.getOwner() == null
+                && dialog.getModality() == Modality.NONE
+                && dialog.getStyle() == stageStyle;
+    }
+
+    /**
+     * An idle dialog together with its pool key.
+     */
+    private static final class Entry {
+
+        private final DialogType dialogType;
+        private final DialogStyle dialogStyle;
+        private final SoftReference<Dialog> reference;
+
+        Entry(Dialog dialog) {
+            this.dialogType = dialog.getDialogType();
+            this.dialogStyle = dialog.getDialogStyle();
+            this.reference = new SoftReference<>(dialog);
+        }
+    }
+}
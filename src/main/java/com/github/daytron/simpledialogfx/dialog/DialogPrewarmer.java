@@ -0,0 +1,274 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogStyle;
+import com.github.daytron.simpledialogfx.data.DialogText;
+import com.github.daytron.simpledialogfx.data.HeaderColorStyle;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.scene.text.Font;
+
+/**
+ * Warms up the dialog machinery during application startup, so that the first
+ * dialog a user sees opens as fast as the following ones.
+ * <p>
+ * Prewarming runs in two phases. Work that does not touch the scene graph
+ * (class loading, compiled layout lookup, reading the stylesheet and font
+ * lookup) runs on a background executor. Work bound to the JavaFX
+ * Application Thread (building each dialog type, creating the control skins
+ * and parsing and applying the stylesheet) is then done one dialog type per
+ * pulse, so the application stays responsive meanwhile.
+ * <p>
+ * The JavaFX toolkit has to be started before calling <code>prewarm</code>,
+ * for example from <code>Application.start</code> while a splash screen is
+ * showing.
+ *
+ * @author Ryan Gilera
+ */
+public final class DialogPrewarmer {
+
+    private static final String STYLESHEET = "/styles/StyleDialog.css";
+
+    // Control classes and their skins, named for both the JavaFX 8 and the
+    // JavaFX 9+ skin packages; missing ones are skipped
+    private static final String[] CLASSES = {
+        "javafx.scene.control.Label",
+        "javafx.scene.control.Button",
+        "javafx.scene.control.TextArea",
+        "javafx.scene.control.TextField",
+        "javafx.scene.control.ListView",
+        "javafx.scene.control.ListCell",
+        "javafx.scene.control.ProgressBar",
+        "javafx.scene.control.ScrollBar",
+        "com.sun.javafx.scene.control.skin.LabelSkin",
+        "com.sun.javafx.scene.control.skin.ButtonSkin",
+        "com.sun.javafx.scene.control.skin.TextAreaSkin",
+        "com.sun.javafx.scene.control.skin.TextFieldSkin",
+        "com.sun.javafx.scene.control.skin.ListViewSkin",
+        "com.sun.javafx.scene.control.skin.ListCellSkin",
+        "com.sun.javafx.scene.control.skin.VirtualFlow",
+        "com.sun.javafx.scene.control.skin.ProgressBarSkin",
+        "com.sun.javafx.scene.control.skin.ScrollBarSkin",
+        "javafx.scene.control.skin.LabelSkin",
+        "javafx.scene.control.skin.ButtonSkin",
+        "javafx.scene.control.skin.TextAreaSkin",
+        "javafx.scene.control.skin.TextFieldSkin",
+        "javafx.scene.control.skin.ListViewSkin",
+        "javafx.scene.control.skin.ListCellSkin",
+        "javafx.scene.control.skin.VirtualFlow",
+        "javafx.scene.control.skin.ProgressBarSkin",
+        "javafx.scene.control.skin.ScrollBarSkin"
+    };
+
+    // Fonts referenced by the layouts and the stylesheet
+    private static final String[] FONT_FAMILIES = {"System", "Helvetica"};
+
+    private DialogPrewarmer() {
+    }
+
+    /**
+     * Prewarms the given dialog types, using a background daemon thread for
+     * the work that does not need the JavaFX Application Thread.
+     *
+     * @param dialogTypes The dialog types to prewarm
+     * @return A future completed once every dialog type has been prewarmed
+     */
+    public static CompletableFuture<Void> prewarm(EnumSet<DialogType> dialogTypes) {
+        return prewarm(dialogTypes, null, newDaemonExecutor());
+    }
+
+    /**
+     * Prewarms the given dialog types and keeps the dialogs built along the
+     * way in a pool, so the first acquisitions are already hits.
+     *
+     * @param dialogTypes The dialog types to prewarm
+     * @param pool The pool receiving the prewarmed dialogs, or null to
+     * discard them
+     * @return A future completed once every dialog type has been prewarmed
+     */
+    public static CompletableFuture<Void> prewarm(EnumSet<DialogType> dialogTypes,
+            DialogPool pool) {
+        return prewarm(dialogTypes, pool, newDaemonExecutor());
+    }
+
+    /**
+     * Prewarms the given dialog types, running the work that does not need
+     * the JavaFX Application Thread on the given executor.
+     *
+     * @param dialogTypes The dialog types to prewarm
+     * @param pool The pool receiving the prewarmed dialogs, or null to
+     * discard them
+     * @param executor The executor for the background phase
+     * @return A future completed once every dialog type has been prewarmed
+     */
+    public static CompletableFuture<Void> prewarm(EnumSet<DialogType> dialogTypes,
+            final DialogPool pool, Executor executor) {
+        final EnumSet<DialogType> types = EnumSet.copyOf(dialogTypes);
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                // Errors such as a failed class initialization must fail the
+                // returned future rather than leave it pending
+                try {
+                    prewarmInBackground(types);
+                    Platform.runLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            new PulseWorker(types, pool, done).start();
+                        }
+                    });
+                } catch (Throwable ex) {
+                    done.completeExceptionally(ex);
+                }
+            }
+        });
+
+        return done;
+    }
+
+    /**
+     * Loads the classes, compiled layouts, stylesheet and fonts ahead of time.
+     */
+    private static void prewarmInBackground(EnumSet<DialogType> types) {
+        ClassLoader loader = DialogPrewarmer.class.getClassLoader();
+        for (String className : CLASSES) {
+            try {
+                Class.forName(className, false, loader);
+            } catch (ClassNotFoundException | LinkageError ex) {
+                // Not part of this JavaFX version
+            }
+        }
+
+        Set<String> paths = new LinkedHashSet<>();
+        for (DialogType type : types) {
+            paths.add(type.getPath());
+        }
+        for (String path : paths) {
+            CompiledLayouts.forPath(path);
+        }
+
+        // Pull the stylesheet through the resource caches
+        try (InputStream stream = DialogPrewarmer.class
+                .getResourceAsStream(STYLESHEET)) {
+            if (stream != null) {
+                byte[] buffer = new byte[4096];
+                while (stream.read(buffer) != -1) {
+                    // Only warming up the caches
+                }
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(DialogPrewarmer.class.getName()).log(Level.FINE,
+                    "Unable to read " + STYLESHEET, ex);
+        }
+
+        // Build the shared header backgrounds
+        for (HeaderColorStyle style : HeaderColorStyle.values()) {
+            style.getBackground();
+        }
+
+        for (String family : FONT_FAMILIES) {
+            Font.font(family, 13.0);
+        }
+    }
+
+    private static Executor newDaemonExecutor() {
+        return new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                Thread thread = new Thread(command, "SimpleDialogFX-prewarm");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        };
+    }
+
+    /**
+     * Builds one dialog type per pulse on the JavaFX Application Thread.
+     */
+    private static final class PulseWorker extends AnimationTimer {
+
+        private final Queue<DialogType> pending;
+        private final DialogPool pool;
+        private final CompletableFuture<Void> done;
+
+        PulseWorker(EnumSet<DialogType> types, DialogPool pool,
+                CompletableFuture<Void> done) {
+            this.pending = new ArrayDeque<>(types);
+            this.pool = pool;
+            this.done = done;
+        }
+
+        @Override
+        public void handle(long now) {
+            DialogType type = this.pending.poll();
+
+            if (type == null) {
+                stop();
+                this.done.complete(null);
+                return;
+            }
+
+            try {
+                prewarm(type);
+            } catch (RuntimeException ex) {
+                Logger.getLogger(DialogPrewarmer.class.getName()).log(
+                        Level.WARNING, "Unable to prewarm " + type, ex);
+            }
+        }
+
+        private void prewarm(DialogType type) {
+            // Built directly rather than acquired, so prewarming does not
+            // count as misses in the pool's statistics
+            Dialog dialog = new Dialog(type, DialogStyle.NATIVE, "",
+                    DialogText.INFO_HEADER.getText(), HeaderColorStyle.DEFAULT,
+                    "", null);
+
+            // Creates the skins, parses the stylesheet and sizes the nodes
+            if (dialog.getScene() != null) {
+                Parent root = dialog.getScene().getRoot();
+                root.applyCss();
+                root.layout();
+            }
+
+            if (this.pool != null) {
+                this.pool.release(dialog);
+            }
+        }
+    }
+}
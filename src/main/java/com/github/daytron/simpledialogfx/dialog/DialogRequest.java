@@ -0,0 +1,271 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogPriority;
+import com.github.daytron.simpledialogfx.data.DialogStyle;
+import com.github.daytron.simpledialogfx.data.DialogText;
+import com.github.daytron.simpledialogfx.data.HeaderColorStyle;
+
+/**
+ * An immutable description of a dialog to be shown later, for example
+ * through a <code>DialogScheduler</code>. Unlike a <code>Dialog</code>, a
+ * request can be created on any thread.
+ * <p>
+ * Two requests are equal when they would show the same dialog, which lets
+ * identical pending requests be merged.
+ * <p>
+ * INLINE dialogs cannot be requested, as they are mounted in the scene of an
+ * owner window that a request does not carry.
+ *
+ * @author Ryan Gilera
+ */
+public final class DialogRequest {
+
+    private final DialogType dialogType;
+    private final DialogStyle dialogStyle;
+    private final String title;
+    private final String header;
+    private final HeaderColorStyle headerColorStyle;
+    private final String details;
+    private final Exception exception;
+    private final DialogPriority priority;
+
+    /**
+     * Constructs a request with specified DialogType, header text and details
+     * text, using the NATIVE style, an empty title, the DEFAULT header color
+     * style and the dialog type's default priority.
+     *
+     * @param dialogType The dialog type to be created
+     * @param header The text for the colored header label
+     * @param details The text for the message details label
+     */
+    public DialogRequest(DialogType dialogType, String header, String details) {
+        this(dialogType, DialogStyle.NATIVE, "", header,
+                HeaderColorStyle.DEFAULT, details, null);
+    }
+
+    /**
+     * Constructs a request for an exception dialog, using the NATIVE style,
+     * an empty title and the EXCEPTION dialog type's default priority.
+     *
+     * @param exception An exception object to be displayed
+     */
+    public DialogRequest(Exception exception) {
+        this(DialogType.EXCEPTION, DialogStyle.NATIVE, "",
+                DialogText.EXCEPTION_HEADER.getText(), HeaderColorStyle.DEFAULT,
+                exception == null ? null : exception.getClass().getName(),
+                exception);
+    }
+
+    /**
+     * Constructs a request using all possible dialog parameters and the
+     * dialog type's default priority. See the matching <code>Dialog</code>
+     * constructor for the meaning of each parameter.
+     *
+     * @param dialogType The type of dialog to build
+     * @param dialogStyle The dialog style to be created
+     * @param title The dialog window title
+     * @param header The text for the colored header label
+     * @param headerColorStyle The chosen color style for the header
+     * @param details The text for the message details label
+     * @param exception An exception object to be displayed
+     * @throws IllegalArgumentException if the style is INLINE, since a request
+     * has no owner window to mount the dialog in
+     */
+    public DialogRequest(DialogType dialogType, DialogStyle dialogStyle,
+            String title, String header, HeaderColorStyle headerColorStyle,
+            String details, Exception exception) {
+        this(dialogType, dialogStyle, title, header, headerColorStyle, details,
+                exception, dialogType.getPriority());
+    }
+
+    private DialogRequest(DialogType dialogType, DialogStyle dialogStyle,
+            String title, String header, HeaderColorStyle headerColorStyle,
+            String details, Exception exception, DialogPriority priority) {
+        if (dialogType == null || dialogStyle == null
+                || headerColorStyle == null || priority == null) {
+            throw new IllegalArgumentException(
+                    "Dialog type, style, header color style and priority "
+                    + "must not be null");
+        }
+        if (dialogStyle == DialogStyle.INLINE) {
+            // A request carries no owner window to mount the dialog in
+            throw new IllegalArgumentException(
+                    "INLINE dialogs cannot be requested");
+        }
+
+        this.dialogType = dialogType;
+        this.dialogStyle = dialogStyle;
+        this.title = title == null ? "" : title;
+        this.header = header;
+        this.headerColorStyle = headerColorStyle;
+        this.details = details;
+        this.exception = exception;
+        this.priority = priority;
+    }
+
+    /**
+     * Creates a copy of this request with a different scheduling priority.
+     *
+     * @param priority The new priority
+     * @return The new request
+     */
+    public DialogRequest withPriority(DialogPriority priority) {
+        return new DialogRequest(this.dialogType, this.dialogStyle, this.title,
+                this.header, this.headerColorStyle, this.details,
+                this.exception, priority);
+    }
+
+    /**
+     * Builds the requested dialog. Must be called on the JavaFX Application
+     * Thread.
+     *
+     * @return A new dialog
+     */
+    public Dialog build() {
+        return new Dialog(this.dialogType, this.dialogStyle, this.title,
+                this.header, this.headerColorStyle, this.details,
+                this.exception);
+    }
+
+    /**
+     * Builds the requested dialog through a pool. Must be called on the
+     * JavaFX Application Thread.
+     *
+     * @param pool The pool to acquire the dialog from
+     * @return A reset pooled dialog or a new dialog
+     */
+    public Dialog build(DialogPool pool) {
+        return pool.acquire(this.dialogType, this.dialogStyle, this.title,
+                this.header, this.headerColorStyle, this.details,
+                this.exception);
+    }
+
+    /**
+     * Retrieves the requested dialog type.
+     *
+     * @return The <code>DialogType</code> of the request
+     */
+    public DialogType getDialogType() {
+        return this.dialogType;
+    }
+
+    /**
+     * Retrieves the requested dialog style.
+     *
+     * @return The <code>DialogStyle</code> of the request
+     */
+    public DialogStyle getDialogStyle() {
+        return this.dialogStyle;
+    }
+
+    /**
+     * Retrieves the requested window title.
+     *
+     * @return The title text
+     */
+    public String getTitle() {
+        return this.title;
+    }
+
+    /**
+     * Retrieves the requested header text.
+     *
+     * @return The header text
+     */
+    public String getHeader() {
+        return this.header;
+    }
+
+    /**
+     * Retrieves the requested header color style.
+     *
+     * @return The <code>HeaderColorStyle</code> of the request
+     */
+    public HeaderColorStyle getHeaderColorStyle() {
+        return this.headerColorStyle;
+    }
+
+    /**
+     * Retrieves the requested details text.
+     *
+     * @return The details text
+     */
+    public String getDetails() {
+        return this.details;
+    }
+
+    /**
+     * Retrieves the exception to be displayed, if any.
+     *
+     * @return The <code>Exception</code> object or null
+     */
+    public Exception getException() {
+        return this.exception;
+    }
+
+    /**
+     * Retrieves the scheduling priority.
+     *
+     * @return The <code>DialogPriority</code> of the request
+     */
+    public DialogPriority getPriority() {
+        return this.priority;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof DialogRequest)) {
+            return false;
+        }
+
+        DialogRequest other = (DialogRequest) object;
+        return this.dialogType == other.dialogType
+                && this.dialogStyle == other.dialogStyle
+                && this.headerColorStyle == other.headerColorStyle
+                && this.priority == other.priority
+                && this.exception == other.exception
+                && this.title.equals(other.title)
+                && equal(this.header, other.header)
+                && equal(this.details, other.details);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = this.dialogType.hashCode();
+        hash = 31 * hash + this.dialogStyle.hashCode();
+        hash = 31 * hash + this.title.hashCode();
+        hash = 31 * hash + (this.header == null ? 0 : this.header.hashCode());
+        hash = 31 * hash + (this.details == null ? 0 : this.details.hashCode());
+        return hash;
+    }
+
+    private static boolean equal(String first, String second) {
+        return first == null ? second == null : first.equals(second);
+    }
+}
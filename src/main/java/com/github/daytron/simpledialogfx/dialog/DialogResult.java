@@ -0,0 +1,141 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+import java.util.List;
+
+/**
+ * An immutable snapshot of a dialog's outcome, taken with
+ * <code>Dialog.getResult()</code>. It keeps the response and the text entry
+ * along with the texts the dialog showed, but none of its scene graph or
+ * exception, so it is cheap to hold on to after the dialog is gone.
+ *
+ * @author Ryan Gilera
+ */
+public final class DialogResult {
+
+    private final DialogType dialogType;
+    private final String title;
+    private final String header;
+    private final String details;
+    private final DialogResponse response;
+    private final String textEntry;
+    private final List<String> choiceEntries;
+
+    /**
+     * Constructs a result.
+     *
+     * @param dialogType The type of the dialog
+     * @param title The dialog window title
+     * @param header The header text
+     * @param details The details text
+     * @param response The response chosen by the user
+     * @param textEntry The text entered by the user
+     * @param choiceEntries The choices selected by the user
+     */
+    DialogResult(DialogType dialogType, String title, String header,
+            String details, DialogResponse response, String textEntry,
+            List<String> choiceEntries) {
+        this.dialogType = dialogType;
+        this.title = title;
+        this.header = header;
+        this.details = details;
+        this.response = response;
+        this.textEntry = textEntry;
+        this.choiceEntries = choiceEntries;
+    }
+
+    /**
+     * Retrieves the type of the dialog.
+     *
+     * @return The <code>DialogType</code> of the dialog
+     */
+    public DialogType getDialogType() {
+        return this.dialogType;
+    }
+
+    /**
+     * Retrieves the dialog window title.
+     *
+     * @return The title
+     */
+    public String getTitle() {
+        return this.title;
+    }
+
+    /**
+     * Retrieves the header text.
+     *
+     * @return The header text
+     */
+    public String getHeader() {
+        return this.header;
+    }
+
+    /**
+     * Retrieves the message details text. For exception dialogs, this is the
+     * exception's class name.
+     *
+     * @return The details text
+     */
+    public String getDetails() {
+        return this.details;
+    }
+
+    /**
+     * Retrieves the response chosen by the user.
+     *
+     * @return The <code>DialogResponse</code> of the dialog
+     */
+    public DialogResponse getResponse() {
+        return this.response;
+    }
+
+    /**
+     * Retrieves the text entered in an input text dialog or the choice
+     * selected in a choice dialog, or an empty <code>String</code> for any
+     * other dialog.
+     *
+     * @return The text entry
+     */
+    public String getTextEntry() {
+        return this.textEntry;
+    }
+
+    /**
+     * Retrieves the choices selected in a choice dialog, in list order, or an
+     * empty list for any other dialog.
+     *
+     * @return The unmodifiable list of selected choices
+     */
+    public List<String> getChoiceEntries() {
+        return this.choiceEntries;
+    }
+
+    @Override
+    public String toString() {
+        return "DialogResult[" + this.dialogType + ", " + this.response + "]";
+    }
+}
@@ -0,0 +1,443 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogPriority;
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+
+/**
+ * Shows dialogs requested from any thread in priority order, with a bounded
+ * number of dialogs on screen at once.
+ * <p>
+ * Requests are queued by <code>DialogPriority</code>, then by arrival. At
+ * most a fixed number of scheduled dialogs are showing at the same time; the
+ * next request is shown as soon as one of them is closed. A request equal to
+ * one still waiting in the queue is merged into it and shares its response.
+ * LOW priority requests that waited longer than the stale timeout are
+ * dropped, and when the queue is full the lowest priority request is dropped.
+ * Dropped requests complete with <code>NO_RESPONSE</code>.
+ * <p>
+ * Queue depth, wait time and drop counters are exposed for monitoring.
+ *
+ * @author Ryan Gilera
+ */
+public final class DialogScheduler {
+
+    /**
+     * Default maximum number of scheduled dialogs showing at once
+     */
+    public static final int DEFAULT_MAX_SHOWING = 1;
+    /**
+     * Default maximum number of queued requests
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+    /**
+     * Default time after which a waiting LOW priority request is stale, in
+     * seconds
+     */
+    public static final long DEFAULT_STALE_SECONDS = 30;
+
+    private final int maxShowing;
+    private final int capacity;
+    private final long staleNanos;
+    private final DialogPool pool;
+
+    // Queue state, guarded by the queue itself
+    private final PriorityQueue<Entry> queue;
+    private final Map<DialogRequest, Entry> waiting;
+    private long sequence;
+    private int maxQueueDepth;
+
+    // Only accessed on the FX thread
+    private int showing;
+
+    private final AtomicBoolean drainQueued;
+
+    private final AtomicLong submitted;
+    private final AtomicLong shown;
+    private final AtomicLong merged;
+    private final AtomicLong dropped;
+    private final AtomicLong totalWaitNanos;
+    private final AtomicLong maxWaitNanos;
+
+    /**
+     * Constructs a scheduler with the default limits, showing one dialog at
+     * a time.
+     */
+    public DialogScheduler() {
+        this(DEFAULT_MAX_SHOWING, DEFAULT_CAPACITY, DEFAULT_STALE_SECONDS,
+                TimeUnit.SECONDS, null);
+    }
+
+    /**
+     * Constructs a scheduler with specified limits.
+     *
+     * @param maxShowing The maximum number of scheduled dialogs showing at
+     * once
+     * @param capacity The maximum number of queued requests
+     * @param staleTimeout The time after which a waiting LOW priority request
+     * is dropped
+     * @param unit The time unit of the stale timeout
+     * @param pool The pool used to build and recycle the dialogs, or null to
+     * build a new dialog for each request
+     */
+    public DialogScheduler(int maxShowing, int capacity, long staleTimeout,
+            TimeUnit unit, DialogPool pool) {
+        if (maxShowing < 1 || capacity < 1 || staleTimeout < 0) {
+            throw new IllegalArgumentException("Invalid scheduler limits");
+        }
+
+        this.maxShowing = maxShowing;
+        this.capacity = capacity;
+        this.staleNanos = unit.toNanos(staleTimeout);
+        this.pool = pool;
+
+        this.queue = new PriorityQueue<>();
+        this.waiting = new HashMap<>();
+        this.sequence = 0;
+        this.maxQueueDepth = 0;
+        this.showing = 0;
+
+        this.drainQueued = new AtomicBoolean(false);
+
+        this.submitted = new AtomicLong();
+        this.shown = new AtomicLong();
+        this.merged = new AtomicLong();
+        this.dropped = new AtomicLong();
+        this.totalWaitNanos = new AtomicLong();
+        this.maxWaitNanos = new AtomicLong();
+    }
+
+    /**
+     * Queues a dialog request. Can be called from any thread.
+     *
+     * @param request The dialog to be shown
+     * @return A future completed with the user's response once the dialog is
+     * closed, or with NO_RESPONSE if the request is dropped
+     */
+    public CompletableFuture<DialogResponse> submit(DialogRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("request must not be null");
+        }
+        this.submitted.incrementAndGet();
+
+        Entry evicted = null;
+        Entry entry;
+
+        synchronized (this.queue) {
+            entry = this.waiting.get(request);
+            if (entry != null) {
+                this.merged.incrementAndGet();
+                return entry.response;
+            }
+
+            entry = new Entry(request, this.sequence++, System.nanoTime());
+
+            if (this.queue.size() >= this.capacity) {
+                evicted = lowest();
+                if (evicted.compareTo(entry) < 0) {
+                    // The new request ranks below everything queued
+                    evicted = entry;
+                } else {
+                    this.queue.remove(evicted);
+                    this.waiting.remove(evicted.request);
+                }
+            }
+
+            if (evicted != entry) {
+                this.queue.add(entry);
+                this.waiting.put(request, entry);
+                this.maxQueueDepth = Math.max(this.maxQueueDepth,
+                        this.queue.size());
+            }
+        }
+
+        if (evicted != null) {
+            drop(evicted);
+        }
+        requestDrain();
+        return entry.response;
+    }
+
+    /**
+     * Retrieves the number of requests waiting in the queue.
+     *
+     * @return The current queue depth
+     */
+    public int getQueueDepth() {
+        synchronized (this.queue) {
+            return this.queue.size();
+        }
+    }
+
+    /**
+     * Retrieves the highest number of requests that waited in the queue at
+     * once.
+     *
+     * @return The maximum queue depth
+     */
+    public int getMaxQueueDepth() {
+        synchronized (this.queue) {
+            return this.maxQueueDepth;
+        }
+    }
+
+    /**
+     * Retrieves the number of submitted requests, including the merged and
+     * dropped ones.
+     *
+     * @return The submitted count
+     */
+    public long getSubmittedCount() {
+        return this.submitted.get();
+    }
+
+    /**
+     * Retrieves the number of dialogs shown by this scheduler.
+     *
+     * @return The shown count
+     */
+    public long getShownCount() {
+        return this.shown.get();
+    }
+
+    /**
+     * Retrieves the number of requests merged into an equal waiting request.
+     *
+     * @return The merged count
+     */
+    public long getMergedCount() {
+        return this.merged.get();
+    }
+
+    /**
+     * Retrieves the number of requests dropped because they became stale or
+     * the queue was full.
+     *
+     * @return The dropped count
+     */
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Retrieves the average time the shown requests waited in the queue.
+     *
+     * @param unit The time unit of the result
+     * @return The average wait time
+     */
+    public long getAverageWaitTime(TimeUnit unit) {
+        long count = this.shown.get();
+        return count == 0 ? 0
+                : unit.convert(this.totalWaitNanos.get() / count,
+                        TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Retrieves the longest time a shown request waited in the queue.
+     *
+     * @param unit The time unit of the result
+     * @return The maximum wait time
+     */
+    public long getMaxWaitTime(TimeUnit unit) {
+        return unit.convert(this.maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Queues a single drain of the request queue on the FX thread, however
+     * many requests arrive meanwhile.
+     */
+    private void requestDrain() {
+        if (this.drainQueued.compareAndSet(false, true)) {
+            Platform.runLater(new Runnable() {
+                @Override
+                public void run() {
+                    drainQueued.set(false);
+                    drain();
+                }
+            });
+        }
+    }
+
+    /**
+     * Shows queued requests until the showing limit is reached. Runs on the
+     * FX thread.
+     */
+    private void drain() {
+        List<Entry> stale = new ArrayList<>();
+
+        while (this.showing < this.maxShowing) {
+            Entry entry;
+            long now = System.nanoTime();
+
+            synchronized (this.queue) {
+                entry = this.queue.poll();
+                if (entry == null) {
+                    break;
+                }
+                this.waiting.remove(entry.request);
+            }
+
+            if (isStale(entry, now)) {
+                stale.add(entry);
+                continue;
+            }
+
+            recordWait(now - entry.submittedAt);
+            show(entry);
+        }
+
+        for (Entry entry : stale) {
+            drop(entry);
+        }
+    }
+
+    private void show(final Entry entry) {
+        final Dialog dialog;
+        try {
+            dialog = this.pool != null
+                    ? entry.request.build(this.pool)
+                    : entry.request.build();
+        } catch (RuntimeException ex) {
+            Logger.getLogger(DialogScheduler.class.getName()).log(Level.SEVERE,
+                    "Unable to build scheduled dialog", ex);
+            entry.response.completeExceptionally(ex);
+            return;
+        }
+
+        this.showing++;
+        this.shown.incrementAndGet();
+
+        dialog.showAsync().whenComplete(
+                new BiConsumer<DialogResponse, Throwable>() {
+                    @Override
+                    public void accept(DialogResponse response,
+                            Throwable failure) {
+                        showing--;
+
+                        if (failure != null) {
+                            entry.response.completeExceptionally(failure);
+                        } else {
+                            entry.response.complete(response);
+                        }
+
+                        // Still inside the dialog's hidden handler here, so
+                        // a pooled dialog is only reused once it returned
+                        recycle(failure == null ? dialog : null);
+                    }
+                });
+    }
+
+    /**
+     * Returns a closed dialog to the pool and shows the next requests, in a
+     * later runnable on the FX thread.
+     *
+     * @param dialog The closed dialog, or null if it is not to be pooled
+     */
+    private void recycle(final Dialog dialog) {
+        Platform.runLater(new Runnable() {
+            @Override
+            public void run() {
+                if (pool != null && dialog != null) {
+                    pool.release(dialog);
+                }
+                drain();
+            }
+        });
+    }
+
+    private boolean isStale(Entry entry, long now) {
+        return entry.request.getPriority() == DialogPriority.LOW
+                && now - entry.submittedAt > this.staleNanos;
+    }
+
+    private void drop(Entry entry) {
+        this.dropped.incrementAndGet();
+        entry.response.complete(DialogResponse.NO_RESPONSE);
+    }
+
+    private void recordWait(long waitNanos) {
+        this.totalWaitNanos.addAndGet(waitNanos);
+
+        long max = this.maxWaitNanos.get();
+        while (waitNanos > max
+                && !this.maxWaitNanos.compareAndSet(max, waitNanos)) {
+            max = this.maxWaitNanos.get();
+        }
+    }
+
+    /**
+     * Finds the queued entry ranked last. Only called when the queue is full.
+     */
+    private Entry lowest() {
+        Entry lowest = null;
+        for (Entry entry : this.queue) {
+            if (lowest == null || entry.compareTo(lowest) > 0) {
+                lowest = entry;
+            }
+        }
+        return lowest;
+    }
+
+    /**
+     * A queued request, ordered by priority and then by arrival.
+     */
+    private static final class Entry implements Comparable<Entry> {
+
+        private final DialogRequest request;
+        private final long sequence;
+        private final long submittedAt;
+        private final CompletableFuture<DialogResponse> response;
+
+        Entry(DialogRequest request, long sequence, long submittedAt) {
+            this.request = request;
+            this.sequence = sequence;
+            this.submittedAt = submittedAt;
+            this.response = new CompletableFuture<>();
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byPriority = other.request.getPriority().compareTo(
+                    this.request.getPriority());
+            if (byPriority != 0) {
+                return byPriority;
+            }
+            return Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
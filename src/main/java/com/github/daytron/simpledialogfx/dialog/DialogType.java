@@ -23,8 +23,11 @@
  */
 package com.github.daytron.simpledialogfx.dialog;
 
+import com.github.daytron.simpledialogfx.data.DialogPriority;
+
 /**
- * List of dialog types and their corresponding Fxml file path.
+ * List of dialog types and their corresponding Fxml file path and default
+ * scheduling priority.
  *
  * @author Ryan Gilera
  */
@@ -33,56 +36,78 @@ public enum DialogType {
     /**
      * Confirmation dialog with YES and NO buttons
      */
-    CONFIRMATION("/fxml/YesNoDialog.fxml"),
+    CONFIRMATION("/fxml/YesNoDialog.fxml", DialogPriority.NORMAL),
     /**
      * Alternative confirmation dialog with OK and CANCEL buttons
      */
-    CONFIRMATION_ALT1("/fxml/OkCancelDialog.fxml"),
+    CONFIRMATION_ALT1("/fxml/OkCancelDialog.fxml", DialogPriority.NORMAL),
     /**
      * Alternative confirmation dialog with YES, NO and CANCEL buttons
      */
-    CONFIRMATION_ALT2("/fxml/YesNoCancelDialog.fxml"),
+    CONFIRMATION_ALT2("/fxml/YesNoCancelDialog.fxml", DialogPriority.NORMAL),
     /**
      * Information dialog with a single OK button
      */
-    INFORMATION("/fxml/OkDialog.fxml"),
+    INFORMATION("/fxml/OkDialog.fxml", DialogPriority.LOW),
     /**
      * Warning dialog with a single OK button
      */
-    WARNING("/fxml/OkDialog.fxml"),
+    WARNING("/fxml/OkDialog.fxml", DialogPriority.NORMAL),
     /**
      * Error dialog with a single OK button
      */
-    ERROR("/fxml/OkDialog.fxml"),
+    ERROR("/fxml/OkDialog.fxml", DialogPriority.HIGH),
     /**
-     * Exception dialog that includes an exception trace, displayed in a TextArea
+     * Exception dialog that includes an exception trace, displayed in a
+     * virtualized list
      */
-    EXCEPTION("/fxml/ExceptionDialog.fxml"),
+    EXCEPTION("/fxml/ExceptionDialog.fxml", DialogPriority.HIGH),
     /**
      * Input text dialog with a single input text field for <code>Strings</code>
      */
-    INPUT_TEXT("/fxml/InputTextDialog.fxml"),
+    INPUT_TEXT("/fxml/InputTextDialog.fxml", DialogPriority.NORMAL),
+    /**
+     * Input text dialog with a multi-line text area for large texts, written
+     * out in chunks instead of being returned as a <code>String</code>
+     */
+    INPUT_MULTILINE("/fxml/MultilineInputDialog.fxml", DialogPriority.NORMAL),
+    /**
+     * Progress dialog with a progress bar and a single CANCEL button, closed
+     * once the work is done
+     */
+    PROGRESS("/fxml/ProgressDialog.fxml", DialogPriority.NORMAL),
+    /**
+     * Choice dialog to pick one item from a filterable, virtualized list
+     */
+    CHOICE("/fxml/ChoiceDialog.fxml", DialogPriority.NORMAL),
+    /**
+     * Choice dialog to pick any number of items from a filterable,
+     * virtualized list
+     */
+    MULTIPLE_CHOICE("/fxml/ChoiceDialog.fxml", DialogPriority.NORMAL),
     /**
      * Generic OK dialog
      */
-    GENERIC_OK("/fxml/OkDialog.fxml"),
+    GENERIC_OK("/fxml/OkDialog.fxml", DialogPriority.LOW),
     /**
      * Generic OK and CANCEL dialog
      */
-    GENERIC_OK_CANCEL("/fxml/OkCancelDialog.fxml"),
+    GENERIC_OK_CANCEL("/fxml/OkCancelDialog.fxml", DialogPriority.NORMAL),
     /**
      * Generic YES and NO dialog
      */
-    GENERIC_YES_NO("/fxml/YesNoDialog.fxml"),
+    GENERIC_YES_NO("/fxml/YesNoDialog.fxml", DialogPriority.NORMAL),
     /**
      * Generic YES, NO and CANCEL dialog
      */
-    GENERIC_YES_NO_CANCEL("/fxml/YesNoCancelDialog.fxml");
+    GENERIC_YES_NO_CANCEL("/fxml/YesNoCancelDialog.fxml", DialogPriority.NORMAL);
     
     private final String path;
+    private final DialogPriority priority;
 
-    private DialogType(String msg) {
+    private DialogType(String msg, DialogPriority priority) {
         this.path = msg;
+        this.priority = priority;
     }
 
     /**
@@ -93,4 +118,14 @@ public enum DialogType {
     protected String getPath() {
         return path;
     }
+
+    /**
+     * Retrieve the default scheduling priority
+     *
+     * @return The <code>DialogPriority</code> used by the
+     * <code>DialogScheduler</code> unless a request overrides it
+     */
+    public DialogPriority getPriority() {
+        return priority;
+    }
 }
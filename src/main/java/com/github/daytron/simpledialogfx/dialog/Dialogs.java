@@ -0,0 +1,183 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+
+/**
+ * Static entry point for showing dialogs from any thread.
+ * <p>
+ * <code>Dialog</code> must be built and shown on the JavaFX Application
+ * Thread. Requests posted here are queued and picked up by a single
+ * <code>Platform.runLater</code> drain, so any number of requests posted
+ * before the FX thread gets to it cost one runnable instead of one each.
+ * Dialogs are shown with <code>showAsync()</code> and the returned future is
+ * completed with the user's response.
+ *
+ * @author Ryan Gilera
+ */
+public final class Dialogs {
+
+    private static final Queue<Posted> POSTED = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean DRAIN_QUEUED = new AtomicBoolean(false);
+
+    private static final AtomicLong POSTED_COUNT = new AtomicLong();
+    private static final AtomicLong DRAIN_COUNT = new AtomicLong();
+
+    private Dialogs() {
+    }
+
+    /**
+     * Posts a dialog request to be shown on the FX thread. Can be called from
+     * any thread.
+     *
+     * @param request The dialog to be shown
+     * @return A future completed with the user's response once the dialog is
+     * closed
+     */
+    public static CompletableFuture<DialogResponse> post(DialogRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("request must not be null");
+        }
+
+        Posted posted = new Posted(request);
+        POSTED.add(posted);
+        POSTED_COUNT.incrementAndGet();
+
+        if (DRAIN_QUEUED.compareAndSet(false, true)) {
+            Platform.runLater(new Runnable() {
+                @Override
+                public void run() {
+                    drain();
+                }
+            });
+        }
+
+        return posted.response;
+    }
+
+    /**
+     * Posts a dialog with specified DialogType, header text and details text.
+     * Can be called from any thread.
+     *
+     * @param dialogType The dialog type to be created
+     * @param header The text for the colored header label
+     * @param details The text for the message details label
+     * @return A future completed with the user's response once the dialog is
+     * closed
+     */
+    public static CompletableFuture<DialogResponse> post(DialogType dialogType,
+            String header, String details) {
+        return post(new DialogRequest(dialogType, header, details));
+    }
+
+    /**
+     * Posts an exception dialog. Can be called from any thread.
+     *
+     * @param exception An exception object to be displayed
+     * @return A future completed with the user's response once the dialog is
+     * closed
+     */
+    public static CompletableFuture<DialogResponse> post(Exception exception) {
+        return post(new DialogRequest(exception));
+    }
+
+    /**
+     * Retrieves the number of requests posted so far.
+     *
+     * @return The posted count
+     */
+    public static long getPostedCount() {
+        return POSTED_COUNT.get();
+    }
+
+    /**
+     * Retrieves the number of FX thread drains run so far. Each drain shows
+     * every request posted before it ran.
+     *
+     * @return The drain count
+     */
+    public static long getDrainCount() {
+        return DRAIN_COUNT.get();
+    }
+
+    /**
+     * Shows every posted request. Runs on the FX thread.
+     */
+    private static void drain() {
+        // Clear the flag first so a request posted while draining queues the
+        // next drain instead of being missed
+        DRAIN_QUEUED.set(false);
+        DRAIN_COUNT.incrementAndGet();
+
+        Posted posted;
+        while ((posted = POSTED.poll()) != null) {
+            show(posted);
+        }
+    }
+
+    private static void show(final Posted posted) {
+        try {
+            posted.request.build().showAsync().whenComplete(
+                    new BiConsumer<DialogResponse, Throwable>() {
+                        @Override
+                        public void accept(DialogResponse response,
+                                Throwable failure) {
+                            if (failure != null) {
+                                posted.response.completeExceptionally(failure);
+                            } else {
+                                posted.response.complete(response);
+                            }
+                        }
+                    });
+        } catch (RuntimeException ex) {
+            Logger.getLogger(Dialogs.class.getName()).log(Level.SEVERE,
+                    "Unable to build posted dialog", ex);
+            posted.response.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * A posted request and the future of its response.
+     */
+    private static final class Posted {
+
+        private final DialogRequest request;
+        private final CompletableFuture<DialogResponse> response;
+
+        Posted(DialogRequest request) {
+            this.request = request;
+            this.response = new CompletableFuture<>();
+        }
+    }
+}
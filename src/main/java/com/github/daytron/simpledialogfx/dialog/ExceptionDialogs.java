@@ -0,0 +1,401 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogStyle;
+import com.github.daytron.simpledialogfx.data.DialogText;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.event.EventHandler;
+import javafx.stage.WindowEvent;
+
+/**
+ * A front door for exception dialogs that keeps a storm of failures from
+ * flooding the screen and the JavaFX Application Thread.
+ * <p>
+ * Exceptions are fingerprinted by their class and their top stack frames.
+ * Reporting an exception whose fingerprint already has an open dialog only
+ * increments the occurrence counter shown in that dialog. New dialogs are
+ * rate limited to a number of dialogs per time window, and no more than a
+ * fixed number of exception dialogs are open at once. Exceptions over these
+ * limits are logged and counted instead of being shown.
+ * <p>
+ * <code>report</code> can be called from any thread. Dialogs are shown with
+ * <code>show()</code>, so reporting never blocks.
+ *
+ * @author Ryan Gilera
+ */
+public final class ExceptionDialogs {
+
+    /**
+     * Default maximum number of exception dialogs open at once
+     */
+    public static final int DEFAULT_MAX_OPEN_DIALOGS = 3;
+    /**
+     * Default maximum number of exception dialogs opened per time window
+     */
+    public static final int DEFAULT_MAX_DIALOGS_PER_WINDOW = 5;
+    /**
+     * Default length of the rate limit time window, in seconds
+     */
+    public static final long DEFAULT_WINDOW_SECONDS = 10;
+    /**
+     * Default number of top stack frames included in a fingerprint
+     */
+    public static final int DEFAULT_FINGERPRINT_DEPTH = 3;
+
+    private final int maxOpenDialogs;
+    private final int maxDialogsPerWindow;
+    private final long windowNanos;
+    private final int fingerprintDepth;
+
+    private final ConcurrentMap<Fingerprint, Incident> incidents;
+    // Opening times within the current window, guarded by itself
+    private final Deque<Long> openings;
+    private int openDialogs;
+
+    private final AtomicLong reported;
+    private final AtomicLong coalesced;
+    private final AtomicLong suppressed;
+
+    /**
+     * Constructs a front door with the default limits.
+     */
+    public ExceptionDialogs() {
+        this(DEFAULT_MAX_OPEN_DIALOGS, DEFAULT_MAX_DIALOGS_PER_WINDOW,
+                DEFAULT_WINDOW_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructs a front door with specified limits, fingerprinting the
+     * exceptions with <code>DEFAULT_FINGERPRINT_DEPTH</code> frames.
+     *
+     * @param maxOpenDialogs The maximum number of exception dialogs open at
+     * once
+     * @param maxDialogsPerWindow The maximum number of exception dialogs
+     * opened per time window
+     * @param window The length of the time window
+     * @param unit The time unit of the window
+     */
+    public ExceptionDialogs(int maxOpenDialogs, int maxDialogsPerWindow,
+            long window, TimeUnit unit) {
+        this(maxOpenDialogs, maxDialogsPerWindow, window, unit,
+                DEFAULT_FINGERPRINT_DEPTH);
+    }
+
+    /**
+     * Constructs a front door with specified limits and fingerprint depth.
+     *
+     * @param maxOpenDialogs The maximum number of exception dialogs open at
+     * once
+     * @param maxDialogsPerWindow The maximum number of exception dialogs
+     * opened per time window
+     * @param window The length of the time window
+     * @param unit The time unit of the window
+     * @param fingerprintDepth The number of top stack frames telling two
+     * exceptions of the same class apart
+     */
+    public ExceptionDialogs(int maxOpenDialogs, int maxDialogsPerWindow,
+            long window, TimeUnit unit, int fingerprintDepth) {
+        if (maxOpenDialogs < 1 || maxDialogsPerWindow < 1 || window < 0
+                || fingerprintDepth < 0) {
+            throw new IllegalArgumentException("Invalid exception dialog limits");
+        }
+
+        this.maxOpenDialogs = maxOpenDialogs;
+        this.maxDialogsPerWindow = maxDialogsPerWindow;
+        this.windowNanos = unit.toNanos(window);
+        this.fingerprintDepth = fingerprintDepth;
+
+        this.incidents = new ConcurrentHashMap<>();
+        this.openings = new ArrayDeque<>();
+        this.openDialogs = 0;
+
+        this.reported = new AtomicLong();
+        this.coalesced = new AtomicLong();
+        this.suppressed = new AtomicLong();
+    }
+
+    /**
+     * Reports an exception using the NATIVE style and an empty title.
+     *
+     * @param exception The exception to be displayed
+     */
+    public void report(Exception exception) {
+        report(DialogStyle.NATIVE, "", exception);
+    }
+
+    /**
+     * Reports an exception. Shows a new exception dialog, adds an occurrence
+     * to the dialog already showing the same failure, or suppresses it when
+     * the limits are reached.
+     *
+     * @param dialogStyle The dialog style to be created
+     * @param title The window title of the dialog
+     * @param exception The exception to be displayed
+     * @throws IllegalArgumentException if the style is INLINE, since the
+     * dialogs are shown in windows of their own
+     */
+    public void report(DialogStyle dialogStyle, String title, Exception exception) {
+        if (exception == null) {
+            throw new IllegalArgumentException("exception must not be null");
+        }
+        if (dialogStyle == DialogStyle.INLINE) {
+            throw new IllegalArgumentException(
+                    "INLINE exception dialogs cannot be reported");
+        }
+        this.reported.incrementAndGet();
+
+        Fingerprint fingerprint = new Fingerprint(exception, this.fingerprintDepth);
+
+        // Fast path: the same failure is already on screen
+        Incident incident = this.incidents.get(fingerprint);
+        if (incident != null) {
+            incident.repeat();
+            return;
+        }
+
+        Incident created = new Incident(fingerprint);
+        incident = this.incidents.putIfAbsent(fingerprint, created);
+        if (incident != null) {
+            incident.repeat();
+            return;
+        }
+
+        if (!tryReserve()) {
+            this.incidents.remove(fingerprint, created);
+            this.suppressed.incrementAndGet();
+            Logger.getLogger(ExceptionDialogs.class.getName()).log(Level.SEVERE,
+                    DialogText.SUPPRESSED_EXCEPTION_LOG_MSG.getText(), exception);
+            return;
+        }
+
+        created.open(dialogStyle, title, exception);
+    }
+
+    /**
+     * Retrieves the number of exceptions reported so far.
+     *
+     * @return The reported count
+     */
+    public long getReportedCount() {
+        return this.reported.get();
+    }
+
+    /**
+     * Retrieves the number of exceptions added to an already open dialog.
+     *
+     * @return The coalesced count
+     */
+    public long getCoalescedCount() {
+        return this.coalesced.get();
+    }
+
+    /**
+     * Retrieves the number of exceptions dropped by the rate limit or the
+     * open dialog limit.
+     *
+     * @return The suppressed count
+     */
+    public long getSuppressedCount() {
+        return this.suppressed.get();
+    }
+
+    /**
+     * Retrieves the number of exception dialogs currently open or about to
+     * be opened.
+     *
+     * @return The open dialog count
+     */
+    public int getOpenDialogCount() {
+        synchronized (this.openings) {
+            return this.openDialogs;
+        }
+    }
+
+    /**
+     * Reserves a slot for a new dialog if both limits allow it.
+     */
+    private boolean tryReserve() {
+        long now = System.nanoTime();
+
+        synchronized (this.openings) {
+            while (!this.openings.isEmpty()
+                    && now - this.openings.peekFirst() >= this.windowNanos) {
+                this.openings.removeFirst();
+            }
+
+            if (this.openDialogs >= this.maxOpenDialogs
+                    || this.openings.size() >= this.maxDialogsPerWindow) {
+                return false;
+            }
+
+            this.openings.addLast(now);
+            this.openDialogs++;
+            return true;
+        }
+    }
+
+    private void releaseSlot() {
+        synchronized (this.openings) {
+            this.openDialogs--;
+        }
+    }
+
+    /**
+     * Identifies a failure by its exception class and top stack frames.
+     */
+    private static final class Fingerprint {
+
+        private final String className;
+        private final StackTraceElement[] frames;
+        private final int hash;
+
+        Fingerprint(Throwable throwable, int depth) {
+            StackTraceElement[] trace = throwable.getStackTrace();
+            this.className = throwable.getClass().getName();
+            this.frames = Arrays.copyOf(trace, Math.min(depth, trace.length));
+            this.hash = 31 * this.className.hashCode() + Arrays.hashCode(this.frames);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint other = (Fingerprint) object;
+            return this.hash == other.hash
+                    && this.className.equals(other.className)
+                    && Arrays.equals(this.frames, other.frames);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * A failure shown in one dialog, counting its occurrences.
+     */
+    private final class Incident {
+
+        private final Fingerprint fingerprint;
+        private final AtomicInteger occurrences;
+        // Set while a counter update is queued on the FX thread
+        private final AtomicBoolean updateQueued;
+        // Only accessed on the FX thread
+        private Dialog dialog;
+        private String details;
+
+        Incident(Fingerprint fingerprint) {
+            this.fingerprint = fingerprint;
+            this.occurrences = new AtomicInteger(1);
+            this.updateQueued = new AtomicBoolean(false);
+        }
+
+        void repeat() {
+            this.occurrences.incrementAndGet();
+            coalesced.incrementAndGet();
+
+            // A single queued update covers any number of repeats
+            if (this.updateQueued.compareAndSet(false, true)) {
+                Platform.runLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        updateQueued.set(false);
+                        updateCounter();
+                    }
+                });
+            }
+        }
+
+        void open(final DialogStyle dialogStyle, final String title,
+                final Exception exception) {
+            Runnable opener = new Runnable() {
+                @Override
+                public void run() {
+                    show(dialogStyle, title, exception);
+                }
+            };
+
+            if (Platform.isFxApplicationThread()) {
+                opener.run();
+            } else {
+                Platform.runLater(opener);
+            }
+        }
+
+        private void show(DialogStyle dialogStyle, String title,
+                Exception exception) {
+            try {
+                this.dialog = new Dialog(dialogStyle, title, exception);
+                this.details = this.dialog.getDetails();
+                this.dialog.addEventHandler(WindowEvent.WINDOW_HIDDEN,
+                        new EventHandler<WindowEvent>() {
+                            @Override
+                            public void handle(WindowEvent event) {
+                                closed();
+                            }
+                        });
+                updateCounter();
+                this.dialog.show();
+            } catch (RuntimeException ex) {
+                closed();
+                throw ex;
+            }
+        }
+
+        private void updateCounter() {
+            int count = this.occurrences.get();
+            // A dialog that failed to load has no details label
+            if (this.dialog != null && !this.dialog.isLoadingError()
+                    && count > 1) {
+                this.dialog.getDetailsLabel().setText(String.format(
+                        DialogText.EXCEPTION_OCCURRENCES.getText(),
+                        this.details, count));
+            }
+        }
+
+        private void closed() {
+            if (incidents.remove(this.fingerprint, this)) {
+                releaseSlot();
+            }
+            this.dialog = null;
+        }
+    }
+}
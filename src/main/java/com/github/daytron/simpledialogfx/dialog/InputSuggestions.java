@@ -0,0 +1,280 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
+
+/**
+ * Offers the completions of a <code>SuggestionProvider</code> below the text
+ * field of an input text dialog.
+ * <p>
+ * Without an executor the provider is asked on every keystroke, on the FX
+ * thread. With one, lookups start once typing pauses for
+ * <code>DEBOUNCE</code> and run on the executor. Each keystroke supersedes
+ * the lookup in flight: it is cancelled, skipped if it has not started yet,
+ * and its completions are ignored if it finishes anyway. The FX thread never
+ * waits on a lookup.
+ * <p>
+ * Only used on the FX thread, apart from the lookups themselves.
+ *
+ * @author Ryan Gilera
+ */
+final class InputSuggestions {
+
+    /**
+     * Maximum number of completions offered at once
+     */
+    static final int LIMIT = 8;
+    /**
+     * Pause in typing before an asynchronous lookup starts
+     */
+    static final Duration DEBOUNCE = Duration.millis(150);
+
+    // Hands the completed lookups back to the FX thread
+    private static final Executor FX_THREAD = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            Platform.runLater(command);
+        }
+    };
+
+    private final TextField field;
+    private final SuggestionProvider provider;
+    private final Executor executor;
+
+    private final ContextMenu menu;
+    private final List<MenuItem> items;
+    private final PauseTransition debounce;
+    private final InvalidationListener textListener;
+
+    // Incremented on every keystroke; a lookup of an older generation is stale
+    private volatile long generation;
+    private CompletableFuture<List<String>> pending;
+    // Set while a picked completion is written to the field
+    private boolean picking;
+
+    private final AtomicLong lookups;
+    private final AtomicLong superseded;
+
+    InputSuggestions(TextField field, SuggestionProvider provider,
+            Executor executor) {
+        this.field = field;
+        this.provider = provider;
+        this.executor = executor;
+
+        this.menu = new ContextMenu();
+        this.menu.getStyleClass().add("input-suggestions");
+        this.items = new ArrayList<>(LIMIT);
+
+        this.debounce = new PauseTransition(DEBOUNCE);
+        this.debounce.setOnFinished(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                lookUpAsync();
+            }
+        });
+
+        this.textListener = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                textChanged();
+            }
+        };
+
+        this.lookups = new AtomicLong();
+        this.superseded = new AtomicLong();
+    }
+
+    /**
+     * Starts offering completions as the text of the field changes.
+     */
+    void attach() {
+        this.field.textProperty().addListener(this.textListener);
+    }
+
+    /**
+     * Stops offering completions, cancelling any pending lookup.
+     */
+    void detach() {
+        this.field.textProperty().removeListener(this.textListener);
+        cancel();
+    }
+
+    /**
+     * Cancels any pending lookup and hides the completions.
+     */
+    void cancel() {
+        this.generation++;
+        this.debounce.stop();
+        cancelPending();
+        this.menu.hide();
+    }
+
+    /**
+     * Retrieves the number of lookups the provider was asked for.
+     *
+     * @return The lookup count
+     */
+    long getLookupCount() {
+        return this.lookups.get();
+    }
+
+    /**
+     * Retrieves the number of asynchronous lookups superseded by a later
+     * keystroke, whether they were skipped, cancelled or ignored.
+     *
+     * @return The superseded count
+     */
+    long getSupersededCount() {
+        return this.superseded.get();
+    }
+
+    private void textChanged() {
+        if (this.picking) {
+            return;
+        }
+        this.generation++;
+        cancelPending();
+
+        String text = this.field.getText();
+        if (text == null || text.isEmpty()) {
+            this.debounce.stop();
+            this.menu.hide();
+        } else if (this.executor == null) {
+            show(lookUp(text));
+        } else {
+            this.debounce.playFromStart();
+        }
+    }
+
+    private List<String> lookUp(String text) {
+        this.lookups.incrementAndGet();
+        return this.provider.suggest(text, LIMIT);
+    }
+
+    private void lookUpAsync() {
+        final long lookup = this.generation;
+        final String text = this.field.getText();
+
+        final CompletableFuture<List<String>> future
+                = CompletableFuture.supplyAsync(new Supplier<List<String>>() {
+                    @Override
+                    public List<String> get() {
+                        // Skip the lookup if the user kept typing while it
+                        // was waiting for a thread
+                        return lookup == generation ? lookUp(text) : null;
+                    }
+                }, this.executor);
+        this.pending = future;
+
+        future.whenCompleteAsync(new BiConsumer<List<String>, Throwable>() {
+            @Override
+            public void accept(List<String> completions, Throwable failure) {
+                if (pending == future) {
+                    pending = null;
+                }
+                if (lookup != generation || future.isCancelled()) {
+                    superseded.incrementAndGet();
+                } else if (failure != null) {
+                    Logger.getLogger(InputSuggestions.class.getName()).log(
+                            Level.WARNING, "Suggestion lookup failed", failure);
+                } else {
+                    show(completions);
+                }
+            }
+        }, FX_THREAD);
+    }
+
+    private void cancelPending() {
+        if (this.pending != null) {
+            this.pending.cancel(false);
+            this.pending = null;
+        }
+    }
+
+    private void show(List<String> completions) {
+        if (completions == null || completions.isEmpty()
+                || this.field.getScene() == null
+                || this.field.getScene().getWindow() == null
+                || !this.field.getScene().getWindow().isShowing()) {
+            this.menu.hide();
+            return;
+        }
+
+        int count = Math.min(completions.size(), LIMIT);
+        while (this.items.size() < count) {
+            this.items.add(createItem());
+        }
+        for (int i = 0; i < count; i++) {
+            this.items.get(i).setText(completions.get(i));
+        }
+        this.menu.getItems().setAll(this.items.subList(0, count));
+
+        if (!this.menu.isShowing()) {
+            this.menu.show(this.field, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    private MenuItem createItem() {
+        final MenuItem item = new MenuItem();
+        item.setMnemonicParsing(false);
+        item.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                pick(item.getText());
+            }
+        });
+        return item;
+    }
+
+    private void pick(String completion) {
+        this.picking = true;
+        try {
+            this.field.setText(completion);
+            this.field.positionCaret(completion.length());
+        } finally {
+            this.picking = false;
+        }
+        cancel();
+    }
+}
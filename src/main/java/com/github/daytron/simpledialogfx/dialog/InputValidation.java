@@ -0,0 +1,344 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogText;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
+
+/**
+ * Runs the validators of an input text dialog as the user types, and keeps
+ * its send button disabled until the current text passes them.
+ * <p>
+ * Validation starts once typing pauses for <code>DEBOUNCE</code> and runs on
+ * an executor, all validators in turn, stopping at the first failure. Each
+ * keystroke supersedes the run in flight: it is cancelled, interrupting the
+ * validator if it already started, and its outcome is dropped. The message
+ * of a failed validation is shown below the field.
+ * <p>
+ * Only used on the FX thread, apart from the runs themselves.
+ *
+ * @author Ryan Gilera
+ */
+final class InputValidation {
+
+    /**
+     * Pause in typing before a validation starts
+     */
+    static final Duration DEBOUNCE = Duration.millis(300);
+
+    // Runs the validations of dialogs given no executor of their own
+    private static Executor defaultExecutor;
+
+    private final TextField field;
+    private final Button sendButton;
+    private final Label messageLabel;
+    private final List<InputValidator> validators;
+    private Executor executor;
+
+    private final PauseTransition debounce;
+    private final InvalidationListener textListener;
+
+    // Incremented on every keystroke; a run of an older generation is stale
+    private long generation;
+    private ValidationRun pending;
+    // Whether the current text passed the validators
+    private boolean passed;
+
+    private final AtomicLong runs;
+    private final AtomicLong superseded;
+
+    InputValidation(TextField field, Button sendButton, Label messageLabel) {
+        this.field = field;
+        this.sendButton = sendButton;
+        this.messageLabel = messageLabel;
+        this.validators = new ArrayList<>();
+
+        this.debounce = new PauseTransition(DEBOUNCE);
+        this.debounce.setOnFinished(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                validate();
+            }
+        });
+
+        this.textListener = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                textChanged();
+            }
+        };
+
+        this.runs = new AtomicLong();
+        this.superseded = new AtomicLong();
+    }
+
+    /**
+     * Starts validating the text of the field as it changes. The current text
+     * is validated as soon as a validator is added.
+     */
+    void attach() {
+        this.field.textProperty().addListener(this.textListener);
+    }
+
+    /**
+     * Stops validating, cancelling any pending run, and enables the send
+     * button again.
+     */
+    void detach() {
+        this.field.textProperty().removeListener(this.textListener);
+        cancel();
+        showMessage(null);
+        this.sendButton.setDisable(false);
+    }
+
+    /**
+     * Cancels any pending run. The text stays unvalidated until
+     * <code>resume()</code> is called.
+     */
+    void cancel() {
+        this.generation++;
+        this.debounce.stop();
+        cancelPending();
+    }
+
+    /**
+     * Validates the current text again if a run was cancelled before it
+     * passed.
+     */
+    void resume() {
+        if (!this.passed && this.pending == null) {
+            revalidate();
+        }
+    }
+
+    void addValidator(InputValidator validator) {
+        this.validators.add(validator);
+        revalidate();
+    }
+
+    boolean removeValidator(InputValidator validator) {
+        boolean removed = this.validators.remove(validator);
+        if (removed) {
+            revalidate();
+        }
+        return removed;
+    }
+
+    boolean isEmpty() {
+        return this.validators.isEmpty();
+    }
+
+    void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Tells whether the current text passed the validators.
+     *
+     * @return true if the text can be sent
+     */
+    boolean isPassed() {
+        return this.passed;
+    }
+
+    /**
+     * Retrieves the number of validation runs started.
+     *
+     * @return The run count
+     */
+    long getRunCount() {
+        return this.runs.get();
+    }
+
+    /**
+     * Retrieves the number of runs superseded by a later keystroke, whether
+     * they were skipped, interrupted or ignored.
+     *
+     * @return The superseded count
+     */
+    long getSupersededCount() {
+        return this.superseded.get();
+    }
+
+    private void textChanged() {
+        invalidate();
+        this.debounce.playFromStart();
+    }
+
+    private void revalidate() {
+        invalidate();
+        validate();
+    }
+
+    /**
+     * Drops the outcome of the previous text. Its message stays on screen
+     * until the new text is validated, so it does not flicker while typing.
+     */
+    private void invalidate() {
+        this.generation++;
+        this.debounce.stop();
+        cancelPending();
+        this.passed = false;
+        this.sendButton.setDisable(true);
+    }
+
+    private void validate() {
+        final String text = this.field.getText();
+        final List<InputValidator> checks = new ArrayList<>(this.validators);
+        this.runs.incrementAndGet();
+
+        ValidationRun task = new ValidationRun(this.generation,
+                new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        for (InputValidator validator : checks) {
+                            if (Thread.interrupted()) {
+                                throw new InterruptedException();
+                            }
+                            String message = validator.validate(text);
+                            if (message != null) {
+                                return message;
+                            }
+                        }
+                        return null;
+                    }
+                });
+        this.pending = task;
+
+        try {
+            executor().execute(task);
+        } catch (RuntimeException ex) {
+            this.pending = null;
+            Logger.getLogger(InputValidation.class.getName()).log(Level.SEVERE,
+                    "Unable to start the input validation", ex);
+            showMessage(DialogText.VALIDATION_FAILED_MSG.getText());
+        }
+    }
+
+    private void completed(ValidationRun task) {
+        if (task.generation != this.generation) {
+            this.superseded.incrementAndGet();
+            return;
+        }
+        this.pending = null;
+
+        String message;
+        try {
+            message = task.get();
+        } catch (InterruptedException | ExecutionException ex) {
+            // An interruption has no cause of its own
+            Throwable failure = ex.getCause() != null ? ex.getCause() : ex;
+            Logger.getLogger(InputValidation.class.getName()).log(Level.WARNING,
+                    "Input validation failed", failure);
+            message = DialogText.VALIDATION_FAILED_MSG.getText();
+        }
+
+        this.passed = message == null;
+        this.sendButton.setDisable(!this.passed);
+        showMessage(message);
+    }
+
+    private void cancelPending() {
+        if (this.pending != null) {
+            this.pending.cancel(true);
+            this.pending = null;
+        }
+    }
+
+    private void showMessage(String message) {
+        boolean shown = message != null && !message.isEmpty();
+        this.messageLabel.setText(shown ? message : "");
+        this.messageLabel.setVisible(shown);
+        this.messageLabel.setManaged(shown);
+    }
+
+    private Executor executor() {
+        if (this.executor != null) {
+            return this.executor;
+        }
+        synchronized (InputValidation.class) {
+            if (defaultExecutor == null) {
+                defaultExecutor = Executors.newCachedThreadPool(
+                        new ThreadFactory() {
+                            @Override
+                            public Thread newThread(Runnable runnable) {
+                                Thread thread = new Thread(runnable,
+                                        "SimpleDialogFX input validation");
+                                thread.setDaemon(true);
+                                return thread;
+                            }
+                        });
+            }
+            return defaultExecutor;
+        }
+    }
+
+    /**
+     * A validation of the text of one generation.
+     */
+    private final class ValidationRun extends FutureTask<String> {
+
+        private final long generation;
+
+        ValidationRun(long generation, Callable<String> validation) {
+            super(validation);
+            this.generation = generation;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                superseded.incrementAndGet();
+                return;
+            }
+
+            Platform.runLater(new Runnable() {
+                @Override
+                public void run() {
+                    completed(ValidationRun.this);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+/**
+ * Checks the text of an input text dialog before it can be sent, see
+ * <code>Dialog.addInputValidator</code>.
+ * <p>
+ * Validators run on a background executor, so they may block, on a
+ * database for instance. A run superseded by a later keystroke is
+ * interrupted; validators that block should let the interruption end them.
+ *
+ * @author Ryan Gilera
+ */
+public interface InputValidator {
+
+    /**
+     * Checks a text.
+     *
+     * @param text The text of the input field
+     * @return The message shown below the field if the text is invalid, or
+     * null if it is valid
+     * @throws Exception if the text could not be checked; the text is then
+     * considered invalid
+     */
+    String validate(String text) throws Exception;
+}
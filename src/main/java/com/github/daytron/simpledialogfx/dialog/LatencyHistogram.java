@@ -0,0 +1,182 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds.
+ * <p>
+ * Values are counted in log-linear buckets: each power of two is split into
+ * 32 buckets, so any recorded value is reported within about 3% of its true
+ * value. Values from 0 up to about 73 minutes are covered; longer ones are
+ * counted in the last bucket. Recording allocates nothing and can be done
+ * from any thread while other threads read.
+ *
+ * @author Ryan Gilera
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values are tracked up to 2^42 nanoseconds
+    private static final int MAX_EXPONENT = 41;
+    private static final int BUCKETS
+            = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong count;
+    private final AtomicLong total;
+    private final AtomicLong max;
+
+    /**
+     * Constructs an empty histogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.count = new AtomicLong();
+        this.total = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Records a latency. Negative values are recorded as 0.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+
+        this.counts.incrementAndGet(indexOf(value));
+        this.count.incrementAndGet();
+        this.total.addAndGet(value);
+
+        long current = this.max.get();
+        while (value > current && !this.max.compareAndSet(current, value)) {
+            current = this.max.get();
+        }
+    }
+
+    /**
+     * Retrieves the number of recorded latencies.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * Retrieves the mean of the recorded latencies.
+     *
+     * @param unit The time unit of the result
+     * @return The mean, or 0 if nothing was recorded
+     */
+    public double getMean(TimeUnit unit) {
+        long recorded = this.count.get();
+        return recorded == 0 ? 0
+                : (double) this.total.get() / recorded / unit.toNanos(1);
+    }
+
+    /**
+     * Retrieves the highest recorded latency.
+     *
+     * @param unit The time unit of the result
+     * @return The maximum, or 0 if nothing was recorded
+     */
+    public long getMax(TimeUnit unit) {
+        return unit.convert(this.max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Retrieves the latency at a percentile, for example 99.9. The result is
+     * the upper bound of the bucket the percentile falls in, capped at the
+     * highest recorded latency.
+     *
+     * @param percentile The percentile, from 0 to 100
+     * @param unit The time unit of the result
+     * @return The latency at the percentile, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile, TimeUnit unit) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be 0 to 100");
+        }
+
+        long recorded = this.count.get();
+        if (recorded == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts.get(i);
+            if (seen >= target) {
+                long value = Math.min(upperBoundOf(i), this.max.get());
+                return unit.convert(value, TimeUnit.NANOSECONDS);
+            }
+        }
+        return getMax(unit);
+    }
+
+    /**
+     * Clears all recorded latencies. Latencies recorded concurrently with the
+     * reset may be partly kept.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.counts.set(i, 0);
+        }
+        this.count.set(0);
+        this.total.set(0);
+        this.max.set(0);
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
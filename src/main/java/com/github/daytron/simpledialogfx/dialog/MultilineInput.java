@@ -0,0 +1,153 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogText;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.function.UnaryOperator;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextFormatter;
+
+/**
+ * The text area of a multi-line input dialog, built for large pastes.
+ * <p>
+ * The text is never copied into a single <code>String</code>: it is written
+ * out of the text area in chunks. Edits are checked against the maximum
+ * length from their own size, without building the new text, and a paste
+ * going over it is cut to fit. A warning with the current length is shown
+ * below the text area past the warning length.
+ *
+ * @author Ryan Gilera
+ */
+final class MultilineInput {
+
+    /**
+     * Default length past which the size warning is shown, in characters
+     */
+    static final int DEFAULT_WARNING_LENGTH = 1 << 20;
+    /**
+     * Default maximum length of the input, in characters
+     */
+    static final int DEFAULT_MAX_LENGTH = 8 << 20;
+
+    // Number of characters copied out of the text area at once
+    private static final int CHUNK_LENGTH = 8192;
+
+    private final TextArea area;
+    private final Label sizeLabel;
+    private int warningLength;
+    private int maxLength;
+    // Set once a paste was cut, until the input is cleared
+    private boolean truncated;
+
+    MultilineInput(TextArea area, Label sizeLabel) {
+        this.area = area;
+        this.sizeLabel = sizeLabel;
+        this.warningLength = DEFAULT_WARNING_LENGTH;
+        this.maxLength = DEFAULT_MAX_LENGTH;
+
+        this.area.setTextFormatter(new TextFormatter<String>(
+                new UnaryOperator<TextFormatter.Change>() {
+                    @Override
+                    public TextFormatter.Change apply(
+                            TextFormatter.Change change) {
+                        return limit(change);
+                    }
+                }));
+        this.area.lengthProperty().addListener(new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                updateSizeLabel();
+            }
+        });
+    }
+
+    void setLimits(int warningLength, int maxLength) {
+        this.warningLength = warningLength;
+        this.maxLength = maxLength;
+        updateSizeLabel();
+    }
+
+    int length() {
+        return this.area.getLength();
+    }
+
+    /**
+     * Writes the text to a writer, a chunk at a time.
+     *
+     * @param writer The writer to write the text to
+     * @throws IOException if the writer fails
+     */
+    void write(Writer writer) throws IOException {
+        int length = this.area.getLength();
+        for (int start = 0; start < length; start += CHUNK_LENGTH) {
+            writer.write(this.area.getText(start,
+                    Math.min(length, start + CHUNK_LENGTH)));
+        }
+    }
+
+    void clear() {
+        this.area.clear();
+        this.truncated = false;
+        updateSizeLabel();
+    }
+
+    private TextFormatter.Change limit(TextFormatter.Change change) {
+        int removed = change.getRangeEnd() - change.getRangeStart();
+        int room = this.maxLength - (this.area.getLength() - removed);
+        String added = change.getText();
+
+        if (added.length() > room) {
+            if (room <= 0) {
+                // Nothing fits, so the edit is rejected
+                this.truncated = true;
+                updateSizeLabel();
+                return null;
+            }
+            change.setText(added.substring(0, room));
+            this.truncated = true;
+        }
+        return change;
+    }
+
+    private void updateSizeLabel() {
+        int length = this.area.getLength();
+        String message = null;
+        if (this.truncated && length >= this.maxLength) {
+            message = String.format(DialogText.INPUT_TRUNCATED.getText(),
+                    this.maxLength);
+        } else if (length > this.warningLength) {
+            message = String.format(DialogText.INPUT_SIZE_WARNING.getText(),
+                    length, this.maxLength);
+        }
+
+        this.sizeLabel.setText(message != null ? message : "");
+        this.sizeLabel.setVisible(message != null);
+        this.sizeLabel.setManaged(message != null);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A <code>SuggestionProvider</code> completing the keys of a fixed set that
+ * start with the typed text, ignoring case.
+ * <p>
+ * The keys are sorted once when the index is built. A lookup is a binary
+ * search for the first key with the typed prefix followed by a walk over at
+ * most <code>limit</code> keys, so it takes microseconds even over millions
+ * of keys. Completions are returned in alphabetical order. The index is
+ * immutable and can be shared between dialogs and threads.
+ *
+ * @author Ryan Gilera
+ */
+public final class PrefixIndex implements SuggestionProvider {
+
+    // Lower case keys in ascending order, and the original key of each
+    private final String[] keys;
+    private final String[] values;
+
+    /**
+     * Builds an index of keys. Duplicate keys are only suggested once.
+     *
+     * @param entries The keys to be completed
+     */
+    public PrefixIndex(Collection<String> entries) {
+        if (entries == null) {
+            throw new IllegalArgumentException("entries must not be null");
+        }
+
+        Key[] sorted = new Key[entries.size()];
+        int count = 0;
+        for (String entry : entries) {
+            if (entry != null) {
+                sorted[count++] = new Key(entry);
+            }
+        }
+        Arrays.sort(sorted, 0, count);
+
+        String[] sortedKeys = new String[count];
+        String[] sortedValues = new String[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            String value = sorted[i].value;
+            if (size > 0 && sortedValues[size - 1].equals(value)) {
+                continue;
+            }
+            sortedKeys[size] = sorted[i].key;
+            sortedValues[size] = value;
+            size++;
+        }
+
+        this.keys = Arrays.copyOf(sortedKeys, size);
+        this.values = Arrays.copyOf(sortedValues, size);
+    }
+
+    @Override
+    public List<String> suggest(String text, int limit) {
+        if (text == null || text.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        String prefix = text.toLowerCase(Locale.ROOT);
+        List<String> completions = new ArrayList<>(Math.min(limit, 16));
+        for (int i = firstAtOrAfter(prefix); i < this.keys.length
+                && completions.size() < limit
+                && this.keys[i].startsWith(prefix); i++) {
+            completions.add(this.values[i]);
+        }
+        return completions;
+    }
+
+    /**
+     * Retrieves the number of distinct keys in the index.
+     *
+     * @return The size of the index
+     */
+    public int size() {
+        return this.keys.length;
+    }
+
+    /**
+     * Finds the position of the first key not below a prefix.
+     */
+    private int firstAtOrAfter(String prefix) {
+        int low = 0;
+        int high = this.keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.keys[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A key and its lower case form, ordered by the latter. Duplicates end
+     * up next to each other.
+     */
+    private static final class Key implements Comparable<Key> {
+
+        private final String key;
+        private final String value;
+
+        Key(String value) {
+            this.key = value.toLowerCase(Locale.ROOT);
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byKey = this.key.compareTo(other.key);
+            return byKey != 0 ? byKey : this.value.compareTo(other.value);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.control.ProgressBar;
+
+/**
+ * Reports the progress of some work to a PROGRESS dialog. Can be called
+ * from any thread.
+ * <p>
+ * Updates are not applied one by one: only the latest progress and message
+ * are kept, and they are applied to the dialog at most once per pulse,
+ * however many updates arrive in between. Workers can therefore report as
+ * often as they like without flooding the FX thread.
+ * <p>
+ * Pressing the dialog's cancel button or closing its window cancels the
+ * updater; workers should check <code>isCancelled()</code> and stop.
+ *
+ * @author Ryan Gilera
+ */
+public final class ProgressUpdater {
+
+    private final Dialog dialog;
+    private final AtomicBoolean applyQueued;
+    private final AnimationTimer applier;
+    private final Runnable startApplier;
+
+    private volatile double progress;
+    private volatile String message;
+    private volatile boolean cancelled;
+    private volatile boolean completed;
+
+    private final AtomicLong updates;
+    private final AtomicLong applied;
+
+    ProgressUpdater(Dialog dialog) {
+        this.dialog = dialog;
+        this.applyQueued = new AtomicBoolean(false);
+        this.progress = ProgressBar.INDETERMINATE_PROGRESS;
+        this.message = "";
+        this.updates = new AtomicLong();
+        this.applied = new AtomicLong();
+
+        // Runs on the next pulse, then stops until another update arrives
+        this.applier = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                applyQueued.set(false);
+                apply();
+            }
+        };
+        this.startApplier = new Runnable() {
+            @Override
+            public void run() {
+                applier.start();
+            }
+        };
+    }
+
+    /**
+     * Updates the progress, from 0 to 1, or
+     * <code>ProgressBar.INDETERMINATE_PROGRESS</code> when unknown.
+     *
+     * @param progress The progress of the work
+     */
+    public void updateProgress(double progress) {
+        this.progress = Double.isNaN(progress) || progress < 0
+                ? ProgressBar.INDETERMINATE_PROGRESS : Math.min(progress, 1);
+        queueApply();
+    }
+
+    /**
+     * Updates the progress from the amount of work done.
+     *
+     * @param workDone The amount of work done
+     * @param max The total amount of work, or a negative value when unknown
+     */
+    public void updateProgress(long workDone, long max) {
+        updateProgress(max <= 0
+                ? ProgressBar.INDETERMINATE_PROGRESS
+                : (double) workDone / max);
+    }
+
+    /**
+     * Updates the message shown below the progress bar.
+     *
+     * @param message The message describing the current step
+     */
+    public void updateMessage(String message) {
+        this.message = message == null ? "" : message;
+        queueApply();
+    }
+
+    /**
+     * Reports the work as done. The dialog is closed with the OK response.
+     */
+    public void complete() {
+        finish(DialogResponse.OK);
+    }
+
+    /**
+     * Tells whether the user cancelled the work, by pressing the cancel
+     * button or closing the dialog.
+     *
+     * @return true if the work should stop
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Retrieves the number of updates reported so far.
+     *
+     * @return The update count
+     */
+    public long getUpdateCount() {
+        return this.updates.get();
+    }
+
+    /**
+     * Retrieves the number of times updates were applied to the dialog. It
+     * stays at or below the number of pulses, whatever the update count.
+     *
+     * @return The applied count
+     */
+    public long getAppliedCount() {
+        return this.applied.get();
+    }
+
+    /**
+     * Closes the dialog with a response once the work has ended, unless it
+     * was cancelled before.
+     *
+     * @param response The response of the dialog
+     */
+    void finish(final DialogResponse response) {
+        if (this.cancelled || this.completed) {
+            return;
+        }
+        this.completed = true;
+
+        runOnFxThread(new Runnable() {
+            @Override
+            public void run() {
+                apply();
+                dialog.finishProgress(response);
+            }
+        });
+    }
+
+    /**
+     * Marks the work as cancelled unless it already completed. Runs on the
+     * FX thread.
+     */
+    void cancel() {
+        if (!this.completed) {
+            this.cancelled = true;
+        }
+        this.applier.stop();
+    }
+
+    private void queueApply() {
+        this.updates.incrementAndGet();
+        if (this.applyQueued.compareAndSet(false, true)) {
+            runOnFxThread(this.startApplier);
+        }
+    }
+
+    private void apply() {
+        if (!this.cancelled) {
+            this.applied.incrementAndGet();
+            this.dialog.applyProgress(this.progress, this.message);
+        }
+    }
+
+    private static void runOnFxThread(Runnable task) {
+        if (Platform.isFxApplicationThread()) {
+            task.run();
+        } else {
+            Platform.runLater(task);
+        }
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+import java.beans.ConstructorProperties;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * JMX view of the dialogs of an application, for diagnosing a desktop
+ * session remotely.
+ * <p>
+ * Once registered, it lists the dialogs currently showing and counts
+ * constructions, load failures and responses. It can also close all open
+ * dialogs and flush the caches. Dialog pools are only reported and flushed
+ * when added with <code>addPool</code>.
+ *
+ * @author Ryan Gilera
+ */
+public final class SimpleDialogFX implements SimpleDialogFXMXBean,
+        DialogLifecycleListener {
+
+    /**
+     * Object name the MBean is registered under
+     */
+    public static final String OBJECT_NAME
+            = "com.github.daytron.simpledialogfx:type=SimpleDialogFX";
+
+    private static SimpleDialogFX registered;
+
+    // Showing dialogs and the time they were shown
+    private final ConcurrentMap<Dialog, Long> openDialogs;
+    private final List<NamedPool> pools;
+
+    private final AtomicLong constructed;
+    private final AtomicLong loadFailures;
+    private final AtomicLongArray responses;
+
+    private SimpleDialogFX() {
+        this.openDialogs = new ConcurrentHashMap<>();
+        this.pools = new CopyOnWriteArrayList<>();
+
+        this.constructed = new AtomicLong();
+        this.loadFailures = new AtomicLong();
+        this.responses = new AtomicLongArray(DialogResponse.values().length);
+    }
+
+    /**
+     * Registers the MBean with the platform MBean server and starts tracking
+     * dialogs. Calling it again returns the registered instance.
+     *
+     * @return The registered MBean
+     */
+    public static synchronized SimpleDialogFX register() {
+        if (registered == null) {
+            SimpleDialogFX mbean = new SimpleDialogFX();
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                server.registerMBean(mbean, new ObjectName(OBJECT_NAME));
+            } catch (JMException ex) {
+                Logger.getLogger(SimpleDialogFX.class.getName()).log(
+                        Level.WARNING, "Unable to register " + OBJECT_NAME, ex);
+            }
+            DialogLifecycle.addListener(mbean);
+            registered = mbean;
+        }
+        return registered;
+    }
+
+    /**
+     * Unregisters the MBean and stops tracking dialogs.
+     */
+    public static synchronized void unregister() {
+        if (registered == null) {
+            return;
+        }
+
+        DialogLifecycle.removeListener(registered);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException ex) {
+            Logger.getLogger(SimpleDialogFX.class.getName()).log(
+                    Level.WARNING, "Unable to unregister " + OBJECT_NAME, ex);
+        }
+        registered = null;
+    }
+
+    /**
+     * Adds a dialog pool to be reported and flushed.
+     *
+     * @param name The name the pool is reported under
+     * @param pool The pool
+     */
+    public void addPool(String name, DialogPool pool) {
+        if (name == null || pool == null) {
+            throw new IllegalArgumentException("name and pool must not be null");
+        }
+        this.pools.add(new NamedPool(name, pool));
+    }
+
+    /**
+     * Removes a dialog pool added before.
+     *
+     * @param pool The pool
+     */
+    public void removePool(DialogPool pool) {
+        for (NamedPool named : this.pools) {
+            if (named.pool == pool) {
+                this.pools.remove(named);
+            }
+        }
+    }
+
+    @Override
+    public int getOpenDialogCount() {
+        return this.openDialogs.size();
+    }
+
+    @Override
+    public List<OpenDialog> getOpenDialogs() {
+        List<Map.Entry<Dialog, Long>> entries
+                = new ArrayList<>(this.openDialogs.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<Dialog, Long>>() {
+            @Override
+            public int compare(Map.Entry<Dialog, Long> first,
+                    Map.Entry<Dialog, Long> second) {
+                return Long.compare(first.getValue(), second.getValue());
+            }
+        });
+
+        long now = System.nanoTime();
+        List<OpenDialog> result = new ArrayList<>(entries.size());
+        for (Map.Entry<Dialog, Long> entry : entries) {
+            Dialog dialog = entry.getKey();
+            result.add(new OpenDialog(
+                    String.valueOf(dialog.getDialogType()),
+                    String.valueOf(dialog.getDialogStyle()),
+                    dialog.getTitle(),
+                    TimeUnit.NANOSECONDS.toMillis(now - entry.getValue())));
+        }
+        return result;
+    }
+
+    @Override
+    public long getConstructedCount() {
+        return this.constructed.get();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return this.loadFailures.get();
+    }
+
+    @Override
+    public Map<String, Long> getResponseCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (DialogResponse response : DialogResponse.values()) {
+            counts.put(response.name(), this.responses.get(response.ordinal()));
+        }
+        return counts;
+    }
+
+    @Override
+    public List<PoolStatistics> getPools() {
+        List<PoolStatistics> result = new ArrayList<>();
+        for (NamedPool named : this.pools) {
+            DialogPool pool = named.pool;
+            result.add(new PoolStatistics(named.name, pool.size(),
+                    pool.getMaxIdle(), pool.getHitCount(), pool.getMissCount(),
+                    pool.getEvictionCount()));
+        }
+        return result;
+    }
+
+    @Override
+    public int closeAllDialogs() {
+        final List<Dialog> dialogs = new ArrayList<>(this.openDialogs.keySet());
+        runOnFxThread(new Runnable() {
+            @Override
+            public void run() {
+                for (Dialog dialog : dialogs) {
+                    // Closed the same way as by the user, so overlays are
+                    // unmounted and pending responses completed
+                    if (dialog.isOpen()) {
+                        dialog.dismiss();
+                    }
+                }
+            }
+        });
+        return dialogs.size();
+    }
+
+    @Override
+    public void flushCaches() {
+        CompiledLayouts.clear();
+        runOnFxThread(new Runnable() {
+            @Override
+            public void run() {
+                for (NamedPool named : pools) {
+                    named.pool.clear();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void dialogConstructed(Dialog dialog, long loadNanos,
+            long constructNanos) {
+        this.constructed.incrementAndGet();
+        if (dialog.isLoadingError()) {
+            this.loadFailures.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void dialogShown(Dialog dialog, long sinceConstructedNanos) {
+        this.openDialogs.put(dialog, System.nanoTime());
+    }
+
+    @Override
+    public void dialogResponded(Dialog dialog, DialogResponse response,
+            long sinceShownNanos) {
+        this.responses.incrementAndGet(response.ordinal());
+    }
+
+    @Override
+    public void dialogClosed(Dialog dialog, long sinceShownNanos) {
+        this.openDialogs.remove(dialog);
+    }
+
+    private static void runOnFxThread(Runnable task) {
+        if (Platform.isFxApplicationThread()) {
+            task.run();
+        } else {
+            Platform.runLater(task);
+        }
+    }
+
+    /**
+     * A dialog currently showing.
+     */
+    public static final class OpenDialog {
+
+        private final String dialogType;
+        private final String dialogStyle;
+        private final String title;
+        private final long ageMillis;
+
+        /**
+         * Constructs the description of an open dialog.
+         *
+         * @param dialogType The dialog type
+         * @param dialogStyle The dialog style
+         * @param title The window title
+         * @param ageMillis The time the dialog has been showing, in
+         * milliseconds
+         */
+        @ConstructorProperties({"dialogType", "dialogStyle", "title",
+            "ageMillis"})
+        public OpenDialog(String dialogType, String dialogStyle, String title,
+                long ageMillis) {
+            this.dialogType = dialogType;
+            this.dialogStyle = dialogStyle;
+            this.title = title;
+            this.ageMillis = ageMillis;
+        }
+
+        public String getDialogType() {
+            return this.dialogType;
+        }
+
+        public String getDialogStyle() {
+            return this.dialogStyle;
+        }
+
+        public String getTitle() {
+            return this.title;
+        }
+
+        public long getAgeMillis() {
+            return this.ageMillis;
+        }
+    }
+
+    /**
+     * Size and counters of a dialog pool.
+     */
+    public static final class PoolStatistics {
+
+        private final String name;
+        private final int idle;
+        private final int maxIdle;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        /**
+         * Constructs the statistics of a dialog pool.
+         *
+         * @param name The name of the pool
+         * @param idle The number of idle dialogs
+         * @param maxIdle The maximum number of idle dialogs
+         * @param hits The number of acquisitions served from the pool
+         * @param misses The number of acquisitions that built a new dialog
+         * @param evictions The number of idle dialogs evicted
+         */
+        @ConstructorProperties({"name", "idle", "maxIdle", "hits", "misses",
+            "evictions"})
+        public PoolStatistics(String name, int idle, int maxIdle, long hits,
+                long misses, long evictions) {
+            this.name = name;
+            this.idle = idle;
+            this.maxIdle = maxIdle;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public int getIdle() {
+            return this.idle;
+        }
+
+        public int getMaxIdle() {
+            return this.maxIdle;
+        }
+
+        public long getHits() {
+            return this.hits;
+        }
+
+        public long getMisses() {
+            return this.misses;
+        }
+
+        public long getEvictions() {
+            return this.evictions;
+        }
+    }
+
+    private static final class NamedPool {
+
+        private final String name;
+        private final DialogPool pool;
+
+        NamedPool(String name, DialogPool pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+    }
+}
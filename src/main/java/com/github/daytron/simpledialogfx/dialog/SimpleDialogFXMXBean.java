@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Management interface of SimpleDialogFX, registered with the platform
+ * MBean server by <code>SimpleDialogFX.register()</code> under
+ * <code>com.github.daytron.simpledialogfx:type=SimpleDialogFX</code>.
+ *
+ * @author Ryan Gilera
+ */
+public interface SimpleDialogFXMXBean {
+
+    /**
+     * Retrieves the number of dialogs currently showing.
+     *
+     * @return The open dialog count
+     */
+    int getOpenDialogCount();
+
+    /**
+     * Retrieves the dialogs currently showing, oldest first.
+     *
+     * @return The type, style, title and age of each open dialog
+     */
+    List<SimpleDialogFX.OpenDialog> getOpenDialogs();
+
+    /**
+     * Retrieves the number of dialogs constructed, including pooled dialogs
+     * reset for reuse.
+     *
+     * @return The construction count
+     */
+    long getConstructedCount();
+
+    /**
+     * Retrieves the number of dialogs whose layout failed to load.
+     *
+     * @return The load failure count
+     */
+    long getLoadFailureCount();
+
+    /**
+     * Retrieves the number of responses given, per
+     * <code>DialogResponse</code> value.
+     *
+     * @return The response counts keyed by response name
+     */
+    Map<String, Long> getResponseCounts();
+
+    /**
+     * Retrieves the statistics of the registered dialog pools.
+     *
+     * @return The size and counters of each pool
+     */
+    List<SimpleDialogFX.PoolStatistics> getPools();
+
+    /**
+     * Closes every dialog currently showing, on the FX Application Thread,
+     * with the CLOSE response. INLINE dialogs are unmounted from their scene.
+     *
+     * @return The number of dialogs closed
+     */
+    int closeAllDialogs();
+
+    /**
+     * Clears the compiled layout cache and empties the registered dialog
+     * pools.
+     */
+    void flushCaches();
+}
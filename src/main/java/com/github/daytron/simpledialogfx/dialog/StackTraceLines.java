@@ -0,0 +1,377 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import javafx.collections.ObservableListBase;
+
+/**
+ * A read-only list of the lines of an exception trace, laid out the way
+ * <code>printStackTrace</code> prints it: the throwable and its frames,
+ * then its suppressed exceptions and its causes, each with the frames it
+ * shares with the trace enclosing it folded into a "... n more" line.
+ * <p>
+ * Runs of frames repeated by a recursion are shown once, followed by a line
+ * telling how many more times they repeat. Lines are formatted on demand, so
+ * a <code>ListView</code> only pays for the lines it actually displays. The
+ * layout itself is kept as a list of blocks of lines rather than lines, so
+ * it takes memory in proportion to the number of exceptions and recursions,
+ * not frames, and at most <code>MAX_THROWABLES</code> exceptions are laid
+ * out.
+ *
+ * @author Ryan Gilera
+ */
+final class StackTraceLines extends ObservableListBase<String> {
+
+    /**
+     * Maximum number of exceptions laid out, causes and suppressed ones
+     * included
+     */
+    static final int MAX_THROWABLES = 1000;
+    /**
+     * Longest run of frames looked for when collapsing recursions
+     */
+    static final int MAX_RECURSION_LENGTH = 64;
+    /**
+     * Minimum number of consecutive occurrences of a run of frames for it
+     * to be collapsed
+     */
+    static final int MIN_RECURSION_COUNT = 3;
+
+    private static final String FRAME_PREFIX = "\tat ";
+    private static final String CAUSE_CAPTION = "Caused by: ";
+    private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+    private static final StackTraceElement[] NO_FRAMES
+            = new StackTraceElement[0];
+
+    private final List<Block> blocks;
+    private int size;
+
+    /**
+     * Constructs the trace lines of a throwable: its description and stack
+     * frames, followed by those of its suppressed exceptions and causes.
+     *
+     * @param throwable The throwable to be displayed
+     */
+    StackTraceLines(Throwable throwable) {
+        this.blocks = new ArrayList<>();
+        layOut(throwable);
+    }
+
+    /**
+     * Constructs a single line trace with the given text.
+     *
+     * @param text The only line of the trace
+     */
+    StackTraceLines(String text) {
+        this.blocks = new ArrayList<>(1);
+        add(Block.text(text));
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + size());
+        }
+        Block block = this.blocks.get(blockAt(index));
+        return block.line(index - block.firstLine);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Lays out the whole exception tree, in the order of
+     * <code>printStackTrace</code>. Walks the tree with a stack rather than
+     * recursion, so arbitrarily long cause chains cannot overflow the stack.
+     */
+    private void layOut(Throwable root) {
+        Set<Throwable> seen = Collections.newSetFromMap(
+                new IdentityHashMap<Throwable, Boolean>());
+        Deque<Enclosed> pending = new ArrayDeque<>();
+        pending.push(new Enclosed(root, NO_FRAMES, "", ""));
+
+        int laidOut = 0;
+        while (!pending.isEmpty()) {
+            Enclosed enclosed = pending.pop();
+            Throwable throwable = enclosed.throwable;
+
+            if (!seen.add(throwable)) {
+                add(Block.circular(enclosed.prefix, enclosed.caption,
+                        throwable));
+                continue;
+            }
+            if (laidOut++ == MAX_THROWABLES) {
+                add(Block.omitted(enclosed.prefix));
+                break;
+            }
+
+            StackTraceElement[] frames = throwable.getStackTrace();
+            add(Block.headline(enclosed.prefix, enclosed.caption, throwable));
+
+            // Frames in common with the enclosing trace are folded
+            int last = frames.length - 1;
+            int enclosing = enclosed.frames.length - 1;
+            while (last >= 0 && enclosing >= 0
+                    && frames[last].equals(enclosed.frames[enclosing])) {
+                last--;
+                enclosing--;
+            }
+            addFrames(enclosed.prefix, frames, last + 1);
+
+            int inCommon = frames.length - 1 - last;
+            if (inCommon > 0) {
+                add(Block.more(enclosed.prefix, inCommon));
+            }
+
+            // Pushed in reverse, so suppressed exceptions come out first and
+            // in order, then the cause
+            Throwable cause = throwable.getCause();
+            if (cause != null) {
+                pending.push(new Enclosed(cause, frames, CAUSE_CAPTION,
+                        enclosed.prefix));
+            }
+            Throwable[] suppressed = throwable.getSuppressed();
+            for (int i = suppressed.length - 1; i >= 0; i--) {
+                pending.push(new Enclosed(suppressed[i], frames,
+                        SUPPRESSED_CAPTION, enclosed.prefix + "\t"));
+            }
+        }
+    }
+
+    /**
+     * Adds the first frames of a trace, collapsing the runs of frames
+     * repeated by a recursion.
+     */
+    private void addFrames(String prefix, StackTraceElement[] frames,
+            int count) {
+        int plainStart = 0;
+        int index = 0;
+        while (index < count) {
+            int length = 0;
+            int occurrences = 0;
+            int maxLength = Math.min(MAX_RECURSION_LENGTH,
+                    (count - index) / MIN_RECURSION_COUNT);
+            for (int candidate = 1; candidate <= maxLength; candidate++) {
+                int found = occurrences(frames, index, candidate, count);
+                if (found >= MIN_RECURSION_COUNT) {
+                    length = candidate;
+                    occurrences = found;
+                    break;
+                }
+            }
+
+            if (length == 0) {
+                index++;
+                continue;
+            }
+
+            // The frames before the run, then the run shown once
+            add(Block.frames(prefix, frames, plainStart,
+                    index + length - plainStart));
+            add(Block.recursion(prefix, length, occurrences - 1));
+            index += length * occurrences;
+            plainStart = index;
+        }
+
+        if (count > plainStart) {
+            add(Block.frames(prefix, frames, plainStart, count - plainStart));
+        }
+    }
+
+    /**
+     * Counts the consecutive occurrences of the run of frames starting at an
+     * index.
+     */
+    private static int occurrences(StackTraceElement[] frames, int start,
+            int length, int count) {
+        int occurrences = 1;
+        int next = start + length;
+        while (next + length <= count) {
+            for (int i = 0; i < length; i++) {
+                if (!frames[next + i].equals(frames[start + i])) {
+                    return occurrences;
+                }
+            }
+            occurrences++;
+            next += length;
+        }
+        return occurrences;
+    }
+
+    private void add(Block block) {
+        block.firstLine = this.size;
+        this.blocks.add(block);
+        this.size += block.lineCount;
+    }
+
+    /**
+     * Finds the block holding a line.
+     */
+    private int blockAt(int line) {
+        int low = 0;
+        int high = this.blocks.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (this.blocks.get(middle).firstLine <= line) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * An exception still to be laid out, with the trace enclosing it.
+     */
+    private static final class Enclosed {
+
+        private final Throwable throwable;
+        private final StackTraceElement[] frames;
+        private final String caption;
+        private final String prefix;
+
+        Enclosed(Throwable throwable, StackTraceElement[] frames,
+                String caption, String prefix) {
+            this.throwable = throwable;
+            this.frames = frames;
+            this.caption = caption;
+            this.prefix = prefix;
+        }
+    }
+
+    private enum BlockType {
+
+        TEXT,
+        HEADLINE,
+        FRAMES,
+        RECURSION,
+        MORE,
+        CIRCULAR,
+        OMITTED
+    }
+
+    /**
+     * Consecutive lines of the same kind: a single line for all types but
+     * FRAMES, which stands for a range of frames of a trace.
+     */
+    private static final class Block {
+
+        private final BlockType type;
+        private final String prefix;
+        // The text or caption of the line, if any
+        private final String text;
+        private final Throwable throwable;
+        private final StackTraceElement[] frames;
+        // First frame of a FRAMES block, frame count of a RECURSION block
+        private final int start;
+        // Repetitions of a RECURSION block, frames folded by a MORE block
+        private final int count;
+        private final int lineCount;
+        private int firstLine;
+
+        private Block(BlockType type, String prefix, String text,
+                Throwable throwable, StackTraceElement[] frames, int start,
+                int count, int lineCount) {
+            this.type = type;
+            this.prefix = prefix;
+            this.text = text;
+            this.throwable = throwable;
+            this.frames = frames;
+            this.start = start;
+            this.count = count;
+            this.lineCount = lineCount;
+        }
+
+        static Block text(String text) {
+            return new Block(BlockType.TEXT, "", text, null, null, 0, 0, 1);
+        }
+
+        static Block headline(String prefix, String caption,
+                Throwable throwable) {
+            return new Block(BlockType.HEADLINE, prefix, caption, throwable,
+                    null, 0, 0, 1);
+        }
+
+        static Block frames(String prefix, StackTraceElement[] frames,
+                int start, int count) {
+            return new Block(BlockType.FRAMES, prefix, null, null, frames,
+                    start, 0, count);
+        }
+
+        static Block recursion(String prefix, int length, int repetitions) {
+            return new Block(BlockType.RECURSION, prefix, null, null, null,
+                    length, repetitions, 1);
+        }
+
+        static Block more(String prefix, int inCommon) {
+            return new Block(BlockType.MORE, prefix, null, null, null, 0,
+                    inCommon, 1);
+        }
+
+        static Block circular(String prefix, String caption,
+                Throwable throwable) {
+            return new Block(BlockType.CIRCULAR, prefix, caption, throwable,
+                    null, 0, 0, 1);
+        }
+
+        static Block omitted(String prefix) {
+            return new Block(BlockType.OMITTED, prefix, null, null, null, 0,
+                    0, 1);
+        }
+
+        String line(int offset) {
+            switch (this.type) {
+                case TEXT:
+                    return this.text;
+                case HEADLINE:
+                    return this.prefix + this.text + this.throwable;
+                case FRAMES:
+                    return this.prefix + FRAME_PREFIX
+                            + this.frames[this.start + offset];
+                case RECURSION:
+                    return this.prefix + "\t... " + this.start
+                            + (this.start == 1 ? " frame" : " frames")
+                            + " repeated " + this.count + " more times";
+                case MORE:
+                    return this.prefix + "\t... " + this.count + " more";
+                case CIRCULAR:
+                    return this.prefix + this.text + "[CIRCULAR REFERENCE: "
+                            + this.throwable + "]";
+                default:
+                    return this.prefix + "\t... further exceptions omitted";
+            }
+        }
+    }
+}
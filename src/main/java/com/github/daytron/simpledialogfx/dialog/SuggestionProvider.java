@@ -0,0 +1,49 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.util.List;
+
+/**
+ * Supplies the completions offered by an input text dialog as the user
+ * types, see <code>Dialog.setSuggestionProvider</code>.
+ * <p>
+ * Providers given an executor are called on that executor and may block, on
+ * a database for instance; the others are called on the FX Application
+ * Thread and must return quickly, like <code>PrefixIndex</code> does.
+ *
+ * @author Ryan Gilera
+ */
+public interface SuggestionProvider {
+
+    /**
+     * Finds the completions of the text typed so far.
+     *
+     * @param text The text of the input field, never empty
+     * @param limit The maximum number of completions to return
+     * @return The completions, best first, or an empty list if there are
+     * none
+     */
+    List<String> suggest(String text, int limit);
+}
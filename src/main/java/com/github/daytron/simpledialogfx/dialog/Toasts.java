@@ -0,0 +1,413 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.HeaderColorStyle;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.animation.FadeTransition;
+import javafx.animation.PauseTransition;
+import javafx.animation.SequentialTransition;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.VBox;
+import javafx.stage.Popup;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+/**
+ * Non-modal toast notifications, for notices that do not need a dialog of
+ * their own.
+ * <p>
+ * Toasts are stacked in the bottom right corner of their owner window, fade
+ * in, and fade out once their duration has elapsed or when clicked. Each
+ * owner window has a single shared <code>Popup</code> holding all of its
+ * toasts; it is created with the first toast and disposed of with the last
+ * one. At most <code>MAX_VISIBLE</code> toasts are shown per window, a new
+ * toast pushing out the oldest, and the nodes of expired toasts are reused.
+ * <p>
+ * Toasts can be shown from any thread. Like <code>Dialogs</code>, toasts
+ * posted before the FX thread gets to them are all shown by a single
+ * <code>Platform.runLater</code> drain.
+ *
+ * @author Ryan Gilera
+ */
+public final class Toasts {
+
+    /**
+     * Default time a toast stays on screen
+     */
+    public static final Duration DEFAULT_DURATION = Duration.seconds(4);
+    /**
+     * Maximum number of toasts shown at once per owner window
+     */
+    public static final int MAX_VISIBLE = 5;
+
+    private static final double WIDTH = 320;
+    private static final double MARGIN = 16;
+    private static final double SPACING = 8;
+    private static final Duration FADE_IN = Duration.millis(150);
+    private static final Duration FADE_OUT = Duration.millis(300);
+
+    private static final String STYLESHEET = Toasts.class
+            .getResource("/styles/StyleDialog.css").toExternalForm();
+
+    private static final Queue<Posted> POSTED = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean DRAIN_QUEUED = new AtomicBoolean(false);
+
+    private static final AtomicLong POSTED_COUNT = new AtomicLong();
+    private static final AtomicLong DROPPED_COUNT = new AtomicLong();
+
+    // Toast layer of each owner window, only accessed on the FX thread. A
+    // layer removes itself once its last toast is gone.
+    private static final Map<Window, ToastLayer> LAYERS = new HashMap<>();
+
+    private Toasts() {
+    }
+
+    /**
+     * Shows a toast colored after a dialog type, for the default duration.
+     * Can be called from any thread.
+     *
+     * @param owner The window to show the toast in
+     * @param dialogType The dialog type whose default header color is used
+     * @param header The text for the colored header label
+     * @param details The text for the message details label
+     */
+    public static void show(Window owner, DialogType dialogType, String header,
+            String details) {
+        show(owner, Dialog.defaultHeaderColorStyle(dialogType), header, details,
+                DEFAULT_DURATION);
+    }
+
+    /**
+     * Shows a toast with a header color style, for the default duration. Can
+     * be called from any thread.
+     *
+     * @param owner The window to show the toast in
+     * @param headerColorStyle The color style of the header
+     * @param header The text for the colored header label
+     * @param details The text for the message details label
+     */
+    public static void show(Window owner, HeaderColorStyle headerColorStyle,
+            String header, String details) {
+        show(owner, headerColorStyle, header, details, DEFAULT_DURATION);
+    }
+
+    /**
+     * Shows a toast with a header color style for a specified duration. Can
+     * be called from any thread.
+     *
+     * @param owner The window to show the toast in
+     * @param headerColorStyle The color style of the header
+     * @param header The text for the colored header label
+     * @param details The text for the message details label
+     * @param duration The time the toast stays on screen
+     */
+    public static void show(Window owner, HeaderColorStyle headerColorStyle,
+            String header, String details, Duration duration) {
+        if (owner == null || headerColorStyle == null || duration == null) {
+            throw new IllegalArgumentException(
+                    "owner, header color style and duration must not be null");
+        }
+
+        POSTED.add(new Posted(owner, headerColorStyle, header, details,
+                duration));
+        POSTED_COUNT.incrementAndGet();
+
+        if (DRAIN_QUEUED.compareAndSet(false, true)) {
+            Platform.runLater(new Runnable() {
+                @Override
+                public void run() {
+                    drain();
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieves the number of toasts posted so far.
+     *
+     * @return The posted count
+     */
+    public static long getPostedCount() {
+        return POSTED_COUNT.get();
+    }
+
+    /**
+     * Retrieves the number of toasts dropped because their owner window was
+     * not showing.
+     *
+     * @return The dropped count
+     */
+    public static long getDroppedCount() {
+        return DROPPED_COUNT.get();
+    }
+
+    /**
+     * Shows every posted toast. Runs on the FX thread.
+     */
+    private static void drain() {
+        DRAIN_QUEUED.set(false);
+
+        Posted posted;
+        while ((posted = POSTED.poll()) != null) {
+            if (!posted.owner.isShowing()) {
+                DROPPED_COUNT.incrementAndGet();
+                continue;
+            }
+
+            try {
+                ToastLayer layer = LAYERS.get(posted.owner);
+                if (layer == null) {
+                    layer = new ToastLayer(posted.owner);
+                    LAYERS.put(posted.owner, layer);
+                }
+                layer.add(posted);
+            } catch (RuntimeException ex) {
+                Logger.getLogger(Toasts.class.getName()).log(Level.SEVERE,
+                        "Unable to show posted toast", ex);
+            }
+        }
+    }
+
+    /**
+     * The shared popup holding the toasts of one owner window.
+     */
+    private static final class ToastLayer {
+
+        private final Window owner;
+        private final Popup popup;
+        private final VBox stack;
+        // Nodes of expired toasts, ready to be reused
+        private final Deque<ToastNode> spare;
+        private final InvalidationListener repositioner;
+
+        ToastLayer(Window owner) {
+            this.owner = owner;
+            this.spare = new ArrayDeque<>();
+
+            this.stack = new VBox(SPACING);
+            this.stack.getStylesheets().add(STYLESHEET);
+            this.stack.getStyleClass().add("toast-stack");
+            this.stack.setPrefWidth(WIDTH);
+
+            this.popup = new Popup();
+            this.popup.setAutoFix(false);
+            this.popup.setHideOnEscape(false);
+            this.popup.getContent().add(this.stack);
+
+            this.repositioner = new InvalidationListener() {
+                @Override
+                public void invalidated(Observable observable) {
+                    reposition();
+                }
+            };
+            owner.xProperty().addListener(this.repositioner);
+            owner.yProperty().addListener(this.repositioner);
+            owner.widthProperty().addListener(this.repositioner);
+            owner.heightProperty().addListener(this.repositioner);
+            this.stack.heightProperty().addListener(this.repositioner);
+        }
+
+        void add(Posted posted) {
+            List<Node> toasts = this.stack.getChildren();
+            if (toasts.size() >= MAX_VISIBLE) {
+                remove((ToastNode) toasts.get(0));
+            }
+
+            ToastNode toast = this.spare.poll();
+            if (toast == null) {
+                toast = new ToastNode(this);
+            }
+            this.stack.getChildren().add(toast);
+            toast.show(posted);
+
+            if (!this.popup.isShowing()) {
+                this.popup.show(this.owner);
+            }
+            reposition();
+        }
+
+        void remove(ToastNode toast) {
+            toast.stop();
+            if (!this.stack.getChildren().remove(toast)) {
+                return;
+            }
+            if (this.spare.size() < MAX_VISIBLE) {
+                this.spare.push(toast);
+            }
+
+            if (this.stack.getChildren().isEmpty()) {
+                dispose();
+            }
+        }
+
+        /**
+         * Hides the popup and forgets the layer once its last toast is gone,
+         * so no listener is left on the owner window.
+         */
+        private void dispose() {
+            this.popup.hide();
+            this.owner.xProperty().removeListener(this.repositioner);
+            this.owner.yProperty().removeListener(this.repositioner);
+            this.owner.widthProperty().removeListener(this.repositioner);
+            this.owner.heightProperty().removeListener(this.repositioner);
+            this.stack.heightProperty().removeListener(this.repositioner);
+            LAYERS.remove(this.owner);
+        }
+
+        /**
+         * Anchors the stack to the bottom right corner of the owner window.
+         */
+        private void reposition() {
+            if (!this.popup.isShowing()) {
+                return;
+            }
+
+            double width = Math.max(this.stack.getWidth(), WIDTH);
+            this.popup.setX(this.owner.getX() + this.owner.getWidth()
+                    - width - MARGIN);
+            this.popup.setY(this.owner.getY() + this.owner.getHeight()
+                    - this.stack.getHeight() - MARGIN);
+        }
+    }
+
+    /**
+     * The node of one toast, with its fade in, hold and fade out animation.
+     */
+    private static final class ToastNode extends VBox {
+
+        private final ToastLayer layer;
+        private final Label headerLabel;
+        private final Label detailsLabel;
+        private final PauseTransition hold;
+        private final SequentialTransition life;
+
+        ToastNode(ToastLayer layer) {
+            this.layer = layer;
+            getStyleClass().add("toast");
+
+            this.headerLabel = new Label();
+            this.headerLabel.getStyleClass().add("toast-header");
+            this.headerLabel.setMaxWidth(Double.MAX_VALUE);
+            this.headerLabel.setWrapText(true);
+
+            this.detailsLabel = new Label();
+            this.detailsLabel.getStyleClass().add("toast-details");
+            this.detailsLabel.setWrapText(true);
+
+            getChildren().addAll(this.headerLabel, this.detailsLabel);
+
+            FadeTransition fadeIn = new FadeTransition(FADE_IN, this);
+            fadeIn.setFromValue(0);
+            fadeIn.setToValue(1);
+            this.hold = new PauseTransition();
+            FadeTransition fadeOut = new FadeTransition(FADE_OUT, this);
+            fadeOut.setFromValue(1);
+            fadeOut.setToValue(0);
+            this.life = new SequentialTransition(fadeIn, this.hold, fadeOut);
+
+            this.life.setOnFinished(new EventHandler<ActionEvent>() {
+                @Override
+                public void handle(ActionEvent event) {
+                    ToastNode.this.layer.remove(ToastNode.this);
+                }
+            });
+            setOnMouseClicked(new EventHandler<MouseEvent>() {
+                @Override
+                public void handle(MouseEvent event) {
+                    fadeOut();
+                }
+            });
+        }
+
+        void show(Posted posted) {
+            this.headerLabel.setText(posted.header);
+            this.detailsLabel.setText(posted.details);
+            this.detailsLabel.setVisible(posted.details != null
+                    && !posted.details.isEmpty());
+            this.detailsLabel.setManaged(this.detailsLabel.isVisible());
+
+            Background background = posted.headerColorStyle.getBackground();
+            this.headerLabel.setBackground(background != null
+                    ? background : HeaderColorStyle.GENERIC.getBackground());
+
+            this.hold.setDuration(posted.duration);
+            setOpacity(0);
+            this.life.playFromStart();
+        }
+
+        /**
+         * Skips the rest of the hold, so the toast starts fading out now.
+         */
+        void fadeOut() {
+            Duration fadeOutStart = FADE_IN.add(this.hold.getDuration());
+            if (this.life.getCurrentTime().lessThan(fadeOutStart)) {
+                this.life.jumpTo(fadeOutStart);
+            }
+        }
+
+        void stop() {
+            this.life.stop();
+        }
+    }
+
+    /**
+     * A posted toast.
+     */
+    private static final class Posted {
+
+        private final Window owner;
+        private final HeaderColorStyle headerColorStyle;
+        private final String header;
+        private final String details;
+        private final Duration duration;
+
+        Posted(Window owner, HeaderColorStyle headerColorStyle, String header,
+                String details, Duration duration) {
+            this.owner = owner;
+            this.headerColorStyle = headerColorStyle;
+            this.header = header;
+            this.details = details;
+            this.duration = duration;
+        }
+    }
+}
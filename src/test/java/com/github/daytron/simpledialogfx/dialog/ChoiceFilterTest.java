@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests of the incremental filtering of CHOICE dialog choices.
+ *
+ * @author Ryan Gilera
+ */
+public class ChoiceFilterTest {
+
+    private static final List<String> FRUITS = Arrays.asList("Apple",
+            "Apricot", "Banana", "Cherry", "Grape", "Kiwi", "Lemon",
+            "Pineapple");
+
+    @Test
+    public void testTypingNarrowsThePreviousMatches() {
+        ChoiceFilter filter = new ChoiceFilter(FRUITS);
+
+        assertArrayEquals(new int[]{0, 1, 2, 4, 7}, filter.filter("a"));
+        assertEquals(FRUITS.size(), filter.getTestedCount());
+
+        assertArrayEquals(new int[]{0, 1, 4, 7}, filter.filter("aP"));
+        assertEquals(5, filter.getTestedCount());
+
+        int[] matches = filter.filter("APP");
+        assertArrayEquals(new int[]{0, 7}, matches);
+        assertEquals(4, filter.getTestedCount());
+        assertEquals(Arrays.asList("Apple", "Pineapple"),
+                filter.view(matches));
+    }
+
+    @Test
+    public void testBackspaceReusesEarlierMatches() {
+        ChoiceFilter filter = new ChoiceFilter(FRUITS);
+        int[] ap = filter.filter("ap");
+        filter.filter("app");
+
+        assertSame(ap, filter.filter("ap"));
+        assertEquals(0, filter.getTestedCount());
+
+        // A sibling query narrows the reused matches
+        assertArrayEquals(new int[]{1}, filter.filter("apr"));
+        assertEquals(ap.length, filter.getTestedCount());
+
+        assertNull(filter.filter(""));
+        assertSame(FRUITS, filter.view(null));
+        filter.filter("ap");
+        assertEquals(FRUITS.size(), filter.getTestedCount());
+    }
+
+    @Test
+    public void testWidestQueriesAreEvictedPastTheBudget() {
+        // Budget of RETAINED_FACTOR times three indices, so remembering
+        // three queries of three matches each evicts the widest
+        ChoiceFilter filter = new ChoiceFilter(
+                Arrays.asList("abc1", "abc2", "abc3"));
+        filter.filter("a");
+        filter.filter("ab");
+        filter.filter("abc");
+
+        filter.filter("ab");
+        assertEquals(0, filter.getTestedCount());
+
+        assertArrayEquals(new int[]{0, 1, 2}, filter.filter("a"));
+        assertEquals(3, filter.getTestedCount());
+    }
+
+    @Test
+    public void testNullChoicesNeverMatch() {
+        ChoiceFilter filter = new ChoiceFilter(
+                Arrays.asList("null", null, "Nullable"));
+
+        assertArrayEquals(new int[]{0, 2}, filter.filter("NULL"));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogStyle;
+import java.util.EnumSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests of reusing dialogs through a <code>DialogPool</code>.
+ *
+ * @author Ryan Gilera
+ */
+public class DialogPoolTest {
+
+    @BeforeClass
+    public static void startPlatform() {
+        FxTestPlatform.start();
+    }
+
+    /**
+     * Release on close is per use, so a reused dialog stays poolable.
+     */
+    @Test
+    public void testReleaseOnCloseIsNotCarriedOver() {
+        FxTestPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                DialogPool pool = new DialogPool(4);
+                Dialog dialog = pool.acquire(DialogType.INFORMATION,
+                        "header", "details");
+                dialog.setReleaseOnClose(true);
+                pool.release(dialog);
+
+                assertSame(dialog, pool.acquire(DialogType.INFORMATION,
+                        "header", "details"));
+                assertFalse(dialog.isReleaseOnClose());
+            }
+        });
+    }
+
+    /**
+     * A shown dialog given an owner or a modality keeps them, so it is not
+     * handed out again, and the next acquired dialog can still take them.
+     */
+    @Test
+    public void testDialogWithOwnerOrModalityIsNotPooled() throws Exception {
+        final DialogPool pool = new DialogPool(4);
+        final Stage owner = FxTestPlatform.call(new Callable<Stage>() {
+            @Override
+            public Stage call() {
+                Stage owner = new Stage();
+                owner.setScene(new Scene(new StackPane(), 400, 300));
+                owner.show();
+                return owner;
+            }
+        });
+        final Dialog[] dialogs = new Dialog[2];
+        FxTestPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                dialogs[0] = pool.acquire(DialogType.CONFIRMATION,
+                        "owned", "details");
+                dialogs[0].initOwner(owner);
+                dialogs[0].show();
+                dialogs[1] = pool.acquire(DialogType.CONFIRMATION,
+                        DialogStyle.UNDECORATED, "modal", "details");
+                dialogs[1].initModality(Modality.APPLICATION_MODAL);
+                dialogs[1].show();
+            }
+        });
+        FxTestPlatform.fire(dialogs[0], "#yes-btn");
+        FxTestPlatform.fire(dialogs[1], "#no-btn");
+        FxTestPlatform.drain();
+
+        FxTestPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                pool.release(dialogs[0]);
+                pool.release(dialogs[1]);
+                assertEquals(0, pool.size());
+
+                Dialog next = pool.acquire(DialogType.CONFIRMATION,
+                        "owned", "details");
+                assertNotSame(dialogs[0], next);
+                next.initOwner(owner);
+                next.initModality(Modality.WINDOW_MODAL);
+                assertEquals(0, pool.getHitCount());
+                owner.close();
+            }
+        });
+    }
+
+    /**
+     * Prewarming fills the pool without counting as misses, so the first
+     * acquisition is a hit.
+     */
+    @Test
+    public void testPrewarmingDoesNotCountAsMisses() throws Exception {
+        final DialogPool pool = new DialogPool(4);
+        DialogPrewarmer.prewarm(EnumSet.of(DialogType.INFORMATION), pool)
+                .get(10, TimeUnit.SECONDS);
+
+        FxTestPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                assertEquals(1, pool.size());
+                assertEquals(0, pool.getMissCount());
+
+                pool.acquire(DialogType.INFORMATION, "header", "details");
+                assertEquals(1, pool.getHitCount());
+                assertEquals(0, pool.getMissCount());
+            }
+        });
+    }
+}
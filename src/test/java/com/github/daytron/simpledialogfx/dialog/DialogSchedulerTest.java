@@ -0,0 +1,183 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+import com.github.daytron.simpledialogfx.data.DialogStyle;
+import com.github.daytron.simpledialogfx.data.HeaderColorStyle;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of <code>DialogScheduler</code> showing dialogs on the FX thread.
+ *
+ * @author Ryan Gilera
+ */
+public class DialogSchedulerTest {
+
+    private final List<Dialog> shown = new CopyOnWriteArrayList<>();
+    private final DialogLifecycleListener listener
+            = new DialogLifecycleListener() {
+                @Override
+                public void dialogConstructed(Dialog dialog, long loadNanos,
+                        long constructNanos) {
+                }
+
+                @Override
+                public void dialogShown(Dialog dialog,
+                        long sinceConstructedNanos) {
+                    shown.add(dialog);
+                }
+
+                @Override
+                public void dialogResponded(Dialog dialog,
+                        DialogResponse response, long sinceShownNanos) {
+                }
+
+                @Override
+                public void dialogClosed(Dialog dialog, long sinceShownNanos) {
+                }
+            };
+
+    @BeforeClass
+    public static void startPlatform() {
+        FxTestPlatform.start();
+    }
+
+    @Before
+    public void addListener() {
+        DialogLifecycle.addListener(this.listener);
+    }
+
+    @After
+    public void removeListener() {
+        DialogLifecycle.removeListener(this.listener);
+    }
+
+    /**
+     * Closing a pooled dialog shows the next request in the same dialog. The
+     * close of the first request must not complete the second one.
+     */
+    @Test
+    public void testNextRequestIsNotCompletedByPreviousClose()
+            throws Exception {
+        DialogScheduler scheduler = new DialogScheduler(1, 10, 30,
+                TimeUnit.SECONDS, new DialogPool(4));
+
+        CompletableFuture<DialogResponse> first = scheduler.submit(
+                new DialogRequest(DialogType.CONFIRMATION, "one", "first"));
+        CompletableFuture<DialogResponse> second = scheduler.submit(
+                new DialogRequest(DialogType.CONFIRMATION, "two", "second"));
+        FxTestPlatform.drain();
+        assertEquals(1, this.shown.size());
+
+        FxTestPlatform.fire(this.shown.get(0), "#yes-btn");
+        FxTestPlatform.drain();
+
+        assertEquals(DialogResponse.YES, first.get(5, TimeUnit.SECONDS));
+        assertEquals(2, this.shown.size());
+        assertFalse(second.isDone());
+        assertTrue(FxTestPlatform.isShowing(this.shown.get(1)));
+
+        FxTestPlatform.fire(this.shown.get(1), "#no-btn");
+        assertEquals(DialogResponse.NO, second.get(5, TimeUnit.SECONDS));
+
+        // The showing count is back to zero, so the limit still holds
+        CompletableFuture<DialogResponse> third = scheduler.submit(
+                new DialogRequest(DialogType.CONFIRMATION, "three", "third"));
+        CompletableFuture<DialogResponse> fourth = scheduler.submit(
+                new DialogRequest(DialogType.CONFIRMATION, "four", "fourth"));
+        FxTestPlatform.drain();
+        assertEquals(3, this.shown.size());
+        assertEquals(1, scheduler.getQueueDepth());
+
+        FxTestPlatform.fire(this.shown.get(2), "#yes-btn");
+        FxTestPlatform.drain();
+        FxTestPlatform.fire(this.shown.get(3), "#yes-btn");
+        assertEquals(DialogResponse.YES, third.get(5, TimeUnit.SECONDS));
+        assertEquals(DialogResponse.YES, fourth.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * With a pool, the dialog of a closed request is reset and shows the
+     * next request of the same type.
+     */
+    @Test
+    public void testPooledDialogIsReusedAcrossRequests() throws Exception {
+        DialogPool pool = new DialogPool(4);
+        DialogScheduler scheduler = new DialogScheduler(1, 10, 30,
+                TimeUnit.SECONDS, pool);
+
+        CompletableFuture<DialogResponse> first = scheduler.submit(
+                new DialogRequest(DialogType.INPUT_TEXT, "one", "first"));
+        CompletableFuture<DialogResponse> second = scheduler.submit(
+                new DialogRequest(DialogType.INPUT_TEXT, "two", "second"));
+        FxTestPlatform.drain();
+
+        final Dialog dialog = this.shown.get(0);
+        FxTestPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                dialog.getTextField().setText("entry");
+            }
+        });
+        FxTestPlatform.fire(dialog, "#send-btn");
+        FxTestPlatform.drain();
+
+        assertEquals(DialogResponse.SEND, first.get(5, TimeUnit.SECONDS));
+        assertEquals(2, this.shown.size());
+        assertSame(dialog, this.shown.get(1));
+        assertEquals(1, pool.getHitCount());
+        assertEquals(1, pool.getMissCount());
+
+        // The second request sees none of the first one's state
+        assertFalse(second.isDone());
+        assertEquals(DialogResponse.NO_RESPONSE, dialog.getResponse());
+        assertEquals("", dialog.getTextEntry());
+        assertEquals("two", dialog.getHeader());
+        assertEquals("second", dialog.getDetails());
+        assertTrue(FxTestPlatform.isShowing(dialog));
+
+        FxTestPlatform.fire(dialog, "#cancel-btn");
+        assertEquals(DialogResponse.CANCEL, second.get(5, TimeUnit.SECONDS));
+        FxTestPlatform.drain();
+        assertEquals(1, pool.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInlineRequestIsRejected() {
+        new DialogRequest(DialogType.INFORMATION, DialogStyle.INLINE, "",
+                "header", HeaderColorStyle.DEFAULT, "details", null);
+    }
+}
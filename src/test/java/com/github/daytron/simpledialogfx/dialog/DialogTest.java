@@ -0,0 +1,176 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+import com.github.daytron.simpledialogfx.data.DialogStyle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import javafx.scene.Scene;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of showing and closing a <code>Dialog</code>.
+ *
+ * @author Ryan Gilera
+ */
+public class DialogTest {
+
+    @BeforeClass
+    public static void startPlatform() {
+        FxTestPlatform.start();
+    }
+
+    /**
+     * A dialog shown again from the callback of its previous response keeps
+     * its new stage pending until it is closed again.
+     */
+    @Test
+    public void testShowInlineFromResponseCallbackStaysPending()
+            throws Exception {
+        final AtomicReference<CompletionStage<DialogResponse>> again
+                = new AtomicReference<>();
+        final Dialog dialog = FxTestPlatform.call(new Callable<Dialog>() {
+            @Override
+            public Dialog call() {
+                final Scene scene = new Scene(new StackPane(), 400, 300);
+                final Dialog dialog = new Dialog(DialogType.CONFIRMATION,
+                        DialogStyle.INLINE, "header", "details");
+                dialog.showInline(scene).thenAccept(
+                        new Consumer<DialogResponse>() {
+                            @Override
+                            public void accept(DialogResponse response) {
+                                again.set(dialog.showInline(scene));
+                            }
+                        });
+                return dialog;
+            }
+        });
+
+        FxTestPlatform.fire(dialog, "#yes-btn");
+        FxTestPlatform.drain();
+
+        assertNotNull(again.get());
+        CompletableFuture<DialogResponse> pending
+                = again.get().toCompletableFuture();
+        assertFalse(pending.isDone());
+        assertTrue(FxTestPlatform.isShowing(dialog));
+
+        FxTestPlatform.fire(dialog, "#no-btn");
+        assertEquals(DialogResponse.NO, pending.get(5, TimeUnit.SECONDS));
+        assertFalse(FxTestPlatform.isShowing(dialog));
+    }
+
+    /**
+     * An INLINE dialog shown as a window is moved to its owner's scene, and
+     * stays closed when it has no owner.
+     */
+    @Test
+    public void testShowOnInlineDialogMountsInOwnerScene() {
+        final Stage owner = FxTestPlatform.call(new Callable<Stage>() {
+            @Override
+            public Stage call() {
+                Stage owner = new Stage();
+                owner.setScene(new Scene(new StackPane(), 400, 300));
+                owner.show();
+                return owner;
+            }
+        });
+        final Dialog owned = FxTestPlatform.call(new Callable<Dialog>() {
+            @Override
+            public Dialog call() {
+                Dialog dialog = new Dialog(DialogType.INFORMATION,
+                        DialogStyle.INLINE, "header", "details");
+                dialog.initOwner(owner);
+                dialog.show();
+                return dialog;
+            }
+        });
+        final Dialog orphan = FxTestPlatform.call(new Callable<Dialog>() {
+            @Override
+            public Dialog call() {
+                Dialog dialog = new Dialog(DialogType.INFORMATION,
+                        DialogStyle.INLINE, "header", "details");
+                dialog.showAndWait();
+                return dialog;
+            }
+        });
+        FxTestPlatform.drain();
+
+        FxTestPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                assertFalse(owned.isShowing());
+                assertTrue(owned.isOpen());
+                assertSame(owner.getScene(),
+                        owned.getDetailsLabel().getScene());
+                owned.dismiss();
+                assertFalse(owned.isOpen());
+                assertEquals(DialogResponse.CLOSE, owned.getResponse());
+
+                assertFalse(orphan.isOpen());
+                owner.close();
+            }
+        });
+    }
+
+    /**
+     * The deprecated exception area still gives the whole trace as text.
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testExceptionAreaHoldsTrace() {
+        FxTestPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                Exception cause = new IllegalArgumentException("cause");
+                Dialog dialog = new Dialog(new IllegalStateException("failure",
+                        cause));
+                TextArea area = dialog.getExceptionArea();
+
+                assertFalse(area.isEditable());
+                assertTrue(area.getText().startsWith(
+                        "java.lang.IllegalStateException: failure\n"));
+                assertTrue(area.getText().contains("Caused by: "
+                        + "java.lang.IllegalArgumentException: cause\n"));
+                assertNull(new Dialog(DialogType.INFORMATION, "header",
+                        "details").getExceptionArea());
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the validation of input text dialogs as the user types.
+ *
+ * @author Ryan Gilera
+ */
+public class InputValidationTest {
+
+    @BeforeClass
+    public static void startPlatform() {
+        FxTestPlatform.start();
+    }
+
+    /**
+     * A run that passed after a later keystroke superseded it leaves the send
+     * button disabled until the new text passes in turn.
+     */
+    @Test
+    public void testSupersededRunNeverEnablesSend() throws Exception {
+        final Queue<Runnable> queued = new ConcurrentLinkedQueue<>();
+        final TextField field = new TextField("first");
+        final Button send = new Button();
+        final InputValidation validation = FxTestPlatform.call(
+                new Callable<InputValidation>() {
+                    @Override
+                    public InputValidation call() {
+                        InputValidation validation = new InputValidation(
+                                field, send, new Label());
+                        validation.setExecutor(new Executor() {
+                            @Override
+                            public void execute(Runnable command) {
+                                queued.add(command);
+                            }
+                        });
+                        validation.attach();
+                        validation.addValidator(new InputValidator() {
+                            @Override
+                            public String validate(String text) {
+                                return null;
+                            }
+                        });
+                        return validation;
+                    }
+                });
+
+        FxTestPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                // The run finishes and posts its outcome, then a keystroke
+                // lands before the outcome is applied
+                queued.remove().run();
+                field.setText("second");
+            }
+        });
+        FxTestPlatform.drain();
+
+        FxTestPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                assertEquals(1, validation.getSupersededCount());
+                assertFalse(validation.isPassed());
+                assertTrue(send.isDisable());
+            }
+        });
+
+        Runnable next = null;
+        for (int i = 0; i < 50 && next == null; i++) {
+            Thread.sleep(20);
+            next = queued.poll();
+        }
+        assertNotNull("No validation after the debounce", next);
+        next.run();
+        FxTestPlatform.drain();
+
+        FxTestPlatform.run(new Runnable() {
+            @Override
+            public void run() {
+                assertEquals(2, validation.getRunCount());
+                assertTrue(validation.isPassed());
+                assertFalse(send.isDisable());
+                validation.detach();
+            }
+        });
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the prefix completion of input dialogs.
+ *
+ * @author Ryan Gilera
+ */
+public class PrefixIndexTest {
+
+    private final PrefixIndex index = new PrefixIndex(Arrays.asList("banana",
+            "Apple", "apricot", null, "Avocado", "Zebra", "apple", "Banana",
+            "apricot", "Blueberry"));
+
+    @Test
+    public void testPrefixIgnoresCase() {
+        assertEquals(Arrays.asList("Apple", "apple", "apricot"),
+                this.index.suggest("AP", 10));
+        assertEquals(Arrays.asList("Apple", "apple"),
+                this.index.suggest("aPpL", 10));
+    }
+
+    @Test
+    public void testDuplicatesAreSuggestedOnce() {
+        assertEquals(8, this.index.size());
+        assertEquals(Arrays.asList("apricot"), this.index.suggest("apr", 10));
+        assertEquals(Arrays.asList("Banana", "banana"),
+                this.index.suggest("ban", 10));
+    }
+
+    @Test
+    public void testLimitCapsTheCompletions() {
+        assertEquals(Arrays.asList("Apple", "apple"),
+                this.index.suggest("a", 2));
+        assertEquals(Collections.emptyList(), this.index.suggest("a", 0));
+        assertEquals(Collections.emptyList(), this.index.suggest("", 10));
+        assertEquals(Collections.emptyList(), this.index.suggest(null, 10));
+    }
+
+    @Test
+    public void testPrefixAtTheEndOfTheKeys() {
+        assertEquals(Arrays.asList("Zebra"), this.index.suggest("z", 10));
+        assertEquals(Arrays.asList("Zebra"), this.index.suggest("zebra", 10));
+        assertEquals(Collections.emptyList(), this.index.suggest("zz", 10));
+        assertEquals(Collections.emptyList(),
+                new PrefixIndex(Collections.<String>emptyList())
+                .suggest("a", 10));
+    }
+}
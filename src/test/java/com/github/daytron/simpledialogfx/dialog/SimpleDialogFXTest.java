@@ -0,0 +1,119 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import com.github.daytron.simpledialogfx.data.DialogResponse;
+import com.github.daytron.simpledialogfx.data.DialogStyle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests of the <code>SimpleDialogFX</code> management bean.
+ *
+ * @author Ryan Gilera
+ */
+public class SimpleDialogFXTest {
+
+    @BeforeClass
+    public static void startPlatform() {
+        FxTestPlatform.start();
+    }
+
+    @After
+    public void unregister() {
+        SimpleDialogFX.unregister();
+    }
+
+    /**
+     * Closing all dialogs closes windows and unmounts overlays the same way
+     * the user does, completing their responses with CLOSE.
+     */
+    @Test
+    public void testCloseAllDialogsClosesWindowsAndOverlays()
+            throws Exception {
+        final SimpleDialogFX mbean = SimpleDialogFX.register();
+        final Scene scene = FxTestPlatform.call(new Callable<Scene>() {
+            @Override
+            public Scene call() {
+                return new Scene(new StackPane(), 400, 300);
+            }
+        });
+        final Dialog windowed = FxTestPlatform.call(new Callable<Dialog>() {
+            @Override
+            public Dialog call() {
+                return new Dialog(DialogType.CONFIRMATION, "header",
+                        "details");
+            }
+        });
+        final Dialog inline = FxTestPlatform.call(new Callable<Dialog>() {
+            @Override
+            public Dialog call() {
+                return new Dialog(DialogType.CONFIRMATION, DialogStyle.INLINE,
+                        "header", "details");
+            }
+        });
+
+        CompletableFuture<DialogResponse> windowedResponse
+                = show(windowed, null);
+        CompletableFuture<DialogResponse> inlineResponse = show(inline, scene);
+        assertEquals(2, mbean.getOpenDialogCount());
+
+        assertEquals(2, mbean.closeAllDialogs());
+        FxTestPlatform.drain();
+
+        assertEquals(DialogResponse.CLOSE,
+                windowedResponse.get(5, TimeUnit.SECONDS));
+        assertEquals(DialogResponse.CLOSE,
+                inlineResponse.get(5, TimeUnit.SECONDS));
+        assertFalse(FxTestPlatform.isShowing(windowed));
+        assertFalse(FxTestPlatform.isShowing(inline));
+        assertNull(inline.getDetailsLabel().getScene());
+        assertEquals(0, mbean.getOpenDialogCount());
+    }
+
+    /**
+     * Shows a dialog in its own window, or in a scene if one is given.
+     */
+    private static CompletableFuture<DialogResponse> show(final Dialog dialog,
+            final Scene scene) {
+        return FxTestPlatform.call(
+                new Callable<CompletableFuture<DialogResponse>>() {
+                    @Override
+                    public CompletableFuture<DialogResponse> call() {
+                        return (scene == null ? dialog.showAsync()
+                                : dialog.showInline(scene))
+                                .toCompletableFuture();
+                    }
+                });
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014-2015 Ryan Gilera.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.daytron.simpledialogfx.dialog;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the exception trace lines shown by exception dialogs.
+ *
+ * @author Ryan Gilera
+ */
+public class StackTraceLinesTest {
+
+    @Test
+    public void testLinesMatchPrintStackTrace() {
+        IllegalStateException cause = new IllegalStateException("cause");
+        cause.addSuppressed(new IllegalArgumentException("suppressed"));
+        RuntimeException exception = new RuntimeException("failure", cause);
+
+        assertEquals(printed(exception), new StackTraceLines(exception));
+    }
+
+    @Test
+    public void testCircularReferenceKeepsItsCaption() {
+        Exception first = new Exception("first");
+        Exception second = new Exception("second", first);
+        first.initCause(second);
+
+        List<String> lines = new StackTraceLines(first);
+        assertEquals("Caused by: [CIRCULAR REFERENCE: " + first + "]",
+                lines.get(lines.size() - 1));
+
+        Exception inner = new Exception("inner");
+        Exception outer = new Exception("outer", inner);
+        inner.addSuppressed(outer);
+
+        lines = new StackTraceLines(outer);
+        assertEquals("\tSuppressed: [CIRCULAR REFERENCE: " + outer + "]",
+                lines.get(lines.size() - 1));
+    }
+
+    private static List<String> printed(Throwable throwable) {
+        StringWriter trace = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(trace));
+        return Arrays.asList(trace.toString().split("\\r?\\n"));
+    }
+}